@@ -2,6 +2,7 @@ package com.gestion.backend.config;
 
 import com.gestion.backend.entities.*;
 import com.gestion.backend.repositories.*;
+import com.gestion.backend.services.GradeStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +29,7 @@ public class DataInitializer implements CommandLineRunner {
         private final StudentRepository studentRepository;
         private final EnrollmentRepository enrollmentRepository;
         private final GradeRepository gradeRepository;
+        private final GradeStatsService gradeStatsService;
 
         @Override
         public void run(String... args) {
@@ -134,6 +137,8 @@ public class DataInitializer implements CommandLineRunner {
                                         .value(15.5)
                                         .build();
                         gradeRepository.save(grade);
+                        gradeStatsService.apply(List.of(GradeStatsService.GradeChange.added(
+                                        studentEntity.getId(), javaCourse.getId(), grade.getValue())));
 
                         log.info("Sample data initialized: Trainer Alice Smith and Student John Doe created.");
                 }
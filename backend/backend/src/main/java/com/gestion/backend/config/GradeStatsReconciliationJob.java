@@ -0,0 +1,21 @@
+package com.gestion.backend.config;
+
+import com.gestion.backend.services.GradeStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly rebuild of student_stats and course_stats from grades, catching writes that bypassed GradeStatsService.
+ */
+@Component
+@RequiredArgsConstructor
+public class GradeStatsReconciliationJob {
+
+    private final GradeStatsService gradeStatsService;
+
+    @Scheduled(cron = "${app.grade-stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        gradeStatsService.reconcile();
+    }
+}
@@ -0,0 +1,26 @@
+package com.gestion.backend.config;
+
+import com.gestion.backend.services.IdentityLinkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Links users to their Student/Trainer rows once at startup so login never has to search for them.
+ * Idempotent: only users that are still unlinked are considered.
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.identity-link.backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class IdentityLinkBackfillRunner implements CommandLineRunner {
+
+    private final IdentityLinkService identityLinkService;
+
+    @Override
+    public void run(String... args) {
+        identityLinkService.backfill();
+    }
+}
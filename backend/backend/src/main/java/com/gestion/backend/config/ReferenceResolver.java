@@ -0,0 +1,76 @@
+package com.gestion.backend.config;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves entity ids bound from form fields (see the converters in {@link WebConfig}).
+ * Results are memoized for the current request; a miss goes through {@link EntityManager#find}, which
+ * reads the second-level cache of the reference entities before going to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceResolver {
+
+    private static final String MEMO_ATTRIBUTE = ReferenceResolver.class.getName() + ".memo";
+
+    private final EntityManager entityManager;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong memoHits = new AtomicLong();
+
+    /**
+     * Returns the entity for a submitted id, or null when the value is blank or no such row exists.
+     */
+    public <T> T resolve(Class<T> type, String rawId) {
+        if (rawId == null || rawId.isEmpty() || rawId.equals("null")) {
+            return null;
+        }
+        Long id = Long.valueOf(rawId);
+        lookups.incrementAndGet();
+
+        Map<Long, Object> memo = memo(type);
+        if (memo == null) {
+            return entityManager.find(type, id);
+        }
+        if (memo.containsKey(id)) {
+            memoHits.incrementAndGet();
+            return type.cast(memo.get(id));
+        }
+
+        T entity = entityManager.find(type, id);
+        memo.put(id, entity);
+        return entity;
+    }
+
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    public long getMemoHits() {
+        return memoHits.get();
+    }
+
+    // Null outside of a web request (the lookup is not memoized then)
+    @SuppressWarnings("unchecked")
+    private Map<Long, Object> memo(Class<?> type) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Class<?>, Map<Long, Object>> memo = (Map<Class<?>, Map<Long, Object>>) attributes
+                .getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo.computeIfAbsent(type, t -> new HashMap<>());
+    }
+}
@@ -0,0 +1,21 @@
+package com.gestion.backend.config;
+
+import com.gestion.backend.services.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes report job results once their TTL has passed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportJobCleanupJob {
+
+    private final ReportJobService reportJobService;
+
+    @Scheduled(fixedDelayString = "${app.report-jobs.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        reportJobService.removeExpired();
+    }
+}
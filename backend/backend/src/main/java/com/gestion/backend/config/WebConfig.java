@@ -1,64 +1,37 @@
 package com.gestion.backend.config;
 
+import com.gestion.backend.entities.Course;
 import com.gestion.backend.entities.Specialty;
+import com.gestion.backend.entities.StudentGroup;
 import com.gestion.backend.entities.Trainer;
-import com.gestion.backend.services.SpecialtyService;
-import com.gestion.backend.services.TrainerService;
+import com.gestion.backend.security.CurrentUserArgumentResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.convert.converter.Converter;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
-    private final TrainerService trainerService;
-    private final SpecialtyService specialtyService;
-    private final com.gestion.backend.services.CourseService courseService;
-    private final com.gestion.backend.services.StudentGroupService studentGroupService;
+    private final ReferenceResolver referenceResolver;
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
 
     @Override
-    public void addFormatters(FormatterRegistry registry) {
-        registry.addConverter(new Converter<String, Trainer>() {
-            @Override
-            public Trainer convert(String id) {
-                if (id == null || id.isEmpty() || id.equals("null")) {
-                    return null;
-                }
-                return trainerService.findById(Long.valueOf(id)).orElse(null);
-            }
-        });
-
-        registry.addConverter(new Converter<String, Specialty>() {
-            @Override
-            public Specialty convert(String id) {
-                if (id == null || id.isEmpty() || id.equals("null")) {
-                    return null;
-                }
-                return specialtyService.findById(Long.valueOf(id)).orElse(null);
-            }
-        });
-
-        registry.addConverter(new Converter<String, com.gestion.backend.entities.Course>() {
-            @Override
-            public com.gestion.backend.entities.Course convert(String id) {
-                if (id == null || id.isEmpty() || id.equals("null")) {
-                    return null;
-                }
-                return courseService.findById(Long.valueOf(id)).orElse(null);
-            }
-        });
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
 
-        registry.addConverter(new Converter<String, com.gestion.backend.entities.StudentGroup>() {
-            @Override
-            public com.gestion.backend.entities.StudentGroup convert(String id) {
-                if (id == null || id.isEmpty() || id.equals("null")) {
-                    return null;
-                }
-                return studentGroupService.findById(Long.valueOf(id)).orElse(null);
-            }
-        });
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Memoized per request, misses are served from the second-level cache when the entity has one
+        registry.addConverter(String.class, Trainer.class, id -> referenceResolver.resolve(Trainer.class, id));
+        registry.addConverter(String.class, Specialty.class, id -> referenceResolver.resolve(Specialty.class, id));
+        registry.addConverter(String.class, Course.class, id -> referenceResolver.resolve(Course.class, id));
+        registry.addConverter(String.class, StudentGroup.class,
+                id -> referenceResolver.resolve(StudentGroup.class, id));
     }
 }
@@ -1,8 +1,6 @@
 package com.gestion.backend.controllers.admin;
 
 import com.gestion.backend.services.EnrollmentService;
-import com.gestion.backend.services.StudentService;
-import com.gestion.backend.services.CourseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,8 +12,6 @@ import org.springframework.web.bind.annotation.*;
 public class AdminEnrollmentController {
 
     private final EnrollmentService enrollmentService;
-    private final StudentService studentService;
-    private final CourseService courseService;
 
     @GetMapping
     public String list(Model model) {
@@ -24,9 +20,8 @@ public class AdminEnrollmentController {
     }
 
     @GetMapping("/create")
-    public String showCreateForm(Model model) {
-        model.addAttribute("etudiants", studentService.findAll());
-        model.addAttribute("courses", courseService.findAll());
+    public String showCreateForm() {
+        // Students and courses are picked through /api/typeahead, nothing to preload
         return "admin/inscriptions/form";
     }
 
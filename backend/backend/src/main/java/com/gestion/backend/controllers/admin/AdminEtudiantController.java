@@ -2,12 +2,16 @@ package com.gestion.backend.controllers.admin;
 
 import com.gestion.backend.entities.Student;
 import com.gestion.backend.entities.StudentGroup;
-import com.gestion.backend.services.StudentGroupService;
+import com.gestion.backend.services.StudentImportService;
 import com.gestion.backend.services.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @Controller
 @RequestMapping("/admin/etudiants")
@@ -15,7 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class AdminEtudiantController {
 
     private final StudentService studentService;
-    private final StudentGroupService groupService;
+    private final StudentImportService studentImportService;
 
     @GetMapping
     public String listEtudiants(Model model) {
@@ -28,7 +32,6 @@ public class AdminEtudiantController {
         Student student = new Student();
         student.setGroup(new StudentGroup());
         model.addAttribute("etudiantInput", student);
-        model.addAttribute("groups", groupService.getAllGroups());
         model.addAttribute("isEdit", false);
         return "admin/etudiants/form";
     }
@@ -39,6 +42,19 @@ public class AdminEtudiantController {
         return "redirect:/admin/etudiants";
     }
 
+    @GetMapping("/import")
+    public String showImportForm() {
+        return "admin/etudiants/import";
+    }
+
+    @PostMapping("/import")
+    public String importCsv(@RequestParam("file") MultipartFile file, Model model) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            model.addAttribute("report", studentImportService.importCsv(in));
+        }
+        return "admin/etudiants/import";
+    }
+
     @GetMapping("/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model) {
         Student student = studentService.findById(id)
@@ -46,7 +62,6 @@ public class AdminEtudiantController {
         if (student.getGroup() == null)
             student.setGroup(new StudentGroup());
         model.addAttribute("etudiantInput", student);
-        model.addAttribute("groups", groupService.getAllGroups());
         model.addAttribute("isEdit", true);
         return "admin/etudiants/form";
     }
@@ -1,8 +1,8 @@
 package com.gestion.backend.controllers.admin;
 
 import com.gestion.backend.entities.Seance;
-import com.gestion.backend.services.PlanningService;
 import com.gestion.backend.services.CourseService;
+import com.gestion.backend.services.PlanningService;
 import com.gestion.backend.services.StudentGroupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -16,7 +16,7 @@ public class AdminPlanningController {
 
     private final PlanningService planningService;
     private final CourseService courseService;
-    private final StudentGroupService groupService;
+    private final StudentGroupService studentGroupService;
 
     @GetMapping
     public String showPlanning(Model model) {
@@ -30,18 +30,24 @@ public class AdminPlanningController {
         seance.setCourse(new com.gestion.backend.entities.Course());
         seance.setGroup(new com.gestion.backend.entities.StudentGroup());
         model.addAttribute("seanceInput", seance);
-        model.addAttribute("courses", courseService.findAll());
-        model.addAttribute("groups", groupService.getAllGroups());
         return "admin/planning/form";
     }
 
     @PostMapping("/create")
-    public String create(@ModelAttribute("seanceInput") Seance seance) {
+    public String create(@ModelAttribute("seanceInput") Seance seance, Model model) {
         try {
             planningService.createSeance(seance);
             return "redirect:/admin/planning";
         } catch (RuntimeException e) {
-            return "redirect:/admin/planning/create?error=" + e.getMessage();
+            // Shown again with what was typed; only the ids were posted, the pickers need the names back
+            if (seance.getCourse() != null && seance.getCourse().getId() != null) {
+                courseService.findById(seance.getCourse().getId()).ifPresent(seance::setCourse);
+            }
+            if (seance.getGroup() != null && seance.getGroup().getId() != null) {
+                studentGroupService.findById(seance.getGroup().getId()).ifPresent(seance::setGroup);
+            }
+            model.addAttribute("error", e.getMessage());
+            return "admin/planning/form";
         }
     }
 
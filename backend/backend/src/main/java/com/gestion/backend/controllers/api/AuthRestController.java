@@ -9,13 +9,15 @@ import com.gestion.backend.entities.User;
 import com.gestion.backend.repositories.StudentRepository;
 import com.gestion.backend.repositories.TrainerRepository;
 import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.CachingUserDetailsService;
 import com.gestion.backend.security.JwtUtil;
+import com.gestion.backend.security.PasswordHashingExecutor;
+import com.gestion.backend.services.IdentityLinkService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,74 +30,38 @@ import java.time.LocalDate;
 public class AuthRestController {
 
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
     private final TrainerRepository trainerRepository;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final CachingUserDetailsService userDetailsCache;
+    private final IdentityLinkService identityLinkService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
-
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        final String jwt = jwtUtil.generateToken(userDetails);
-
-        User user = userRepository.findByUsername(request.getUsername()).orElseThrow();
-
-        Long trainerId = user.getTrainerId();
-        Long studentId = user.getStudentId();
-
-        // Auto-link student if ID is null but role is STUDENT
-        if (studentId == null && user.getRole() == User.Role.STUDENT) {
-            System.out.println("DEBUG: Linking student for user " + user.getUsername());
-            studentId = studentRepository.findByEmail(user.getUsername())
-                    .map(Student::getId)
-                    .orElse(null);
-
-            if (studentId == null) {
-                studentId = studentRepository.findByMatricule(user.getUsername())
-                        .map(Student::getId)
-                        .orElse(null);
-            }
-
-            if (studentId != null) {
-                user.setStudentId(studentId);
-                userRepository.save(user);
-                System.out.println("DEBUG: Successfully linked student ID " + studentId);
-            } else {
-                System.out.println(
-                        "DEBUG: Could not find student record for matching username/email: " + user.getUsername());
-            }
+        // One (cached) user lookup plus the bcrypt check; the authenticated principal is the User itself
+        // BCrypt runs on the bounded hashing pool, not on the servlet thread
+        Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())));
+        User user = (User) authentication.getPrincipal();
+
+        // Accounts are linked by the backfill and at registration, this branch should never run
+        if ((user.getRole() == User.Role.STUDENT && user.getStudentId() == null)
+                || (user.getRole() == User.Role.TRAINER && user.getTrainerId() == null)) {
+            user = identityLinkService.linkOnLogin(user);
         }
 
-        // Auto-link trainer if ID is null but role is TRAINER
-        if (trainerId == null && user.getRole() == User.Role.TRAINER) {
-            System.out.println("DEBUG: Linking trainer for user " + user.getUsername());
-            trainerId = trainerRepository.findByEmail(user.getUsername())
-                    .map(Trainer::getId)
-                    .orElse(null);
-
-            if (trainerId == null) {
-                trainerId = trainerRepository.findByNameContainingIgnoreCase(user.getUsername())
-                        .stream().map(Trainer::getId).findFirst().orElse(null);
-            }
-
-            if (trainerId != null) {
-                user.setTrainerId(trainerId);
-                userRepository.save(user);
-                System.out.println("DEBUG: Successfully linked trainer ID " + trainerId);
-            }
-        }
+        // Issued after the auto-link so the token carries the linked student/trainer id
+        final String jwt = jwtUtil.generateToken(user);
 
         LoginResponse.UserDto userDto = new LoginResponse.UserDto(
                 user.getId(),
                 user.getUsername(),
                 user.getRole().name(),
-                trainerId,
-                studentId);
+                user.getTrainerId(),
+                user.getStudentId());
 
         return ResponseEntity.ok(new LoginResponse(jwt, userDto));
     }
@@ -113,9 +79,10 @@ public class AuthRestController {
             return ResponseEntity.badRequest().body(java.util.Map.of("message", "Invalid role: " + request.getRole()));
         }
 
+        String encodedPassword = passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.getPassword()));
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .role(role)
                 .build();
 
@@ -129,6 +96,10 @@ public class AuthRestController {
                             .matricule("STU-" + System.currentTimeMillis())
                             .registrationDate(LocalDate.now())
                             .build()));
+            if (userRepository.existsByStudentId(student.getId())) {
+                return ResponseEntity.badRequest()
+                        .body(java.util.Map.of("message", "An account already exists for this student"));
+            }
             user.setStudentId(student.getId());
         } else if (role == User.Role.TRAINER) {
             // Check for existing trainer with same email
@@ -138,10 +109,16 @@ public class AuthRestController {
                             .email(request.getEmail())
                             .specialty("General")
                             .build()));
+            if (userRepository.existsByTrainerId(trainer.getId())) {
+                return ResponseEntity.badRequest()
+                        .body(java.util.Map.of("message", "An account already exists for this trainer"));
+            }
             user.setTrainerId(trainer.getId());
         }
 
         userRepository.save(user);
+        // Drops a possible negative entry left by a login attempt before registration
+        userDetailsCache.evict(user.getUsername());
 
         return ResponseEntity.ok(java.util.Map.of("message", "User registered successfully"));
     }
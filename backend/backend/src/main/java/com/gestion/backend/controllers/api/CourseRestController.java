@@ -1,8 +1,10 @@
 package com.gestion.backend.controllers.api;
 
 import com.gestion.backend.dtos.CourseDto;
+import com.gestion.backend.dtos.PageResponse;
 import com.gestion.backend.entities.Course;
 import com.gestion.backend.entities.Trainer;
+import com.gestion.backend.pagination.KeysetPagination;
 import com.gestion.backend.services.CourseService;
 import com.gestion.backend.services.SpecialtyService;
 import com.gestion.backend.services.TrainerService;
@@ -13,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,6 +26,7 @@ public class CourseRestController {
     private final CourseService courseService;
     private final TrainerService trainerService;
     private final SpecialtyService specialtyService;
+    private final KeysetPagination pagination;
 
     @GetMapping
     public List<CourseDto> getAllCourses() {
@@ -31,6 +35,17 @@ public class CourseRestController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/page")
+    public PageResponse<CourseDto> getCoursePage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetPagination.Request request = pagination.request(cursor, size, sort,
+                Set.of("id", "code", "title"), "code");
+        return pagination.response(courseService.findPage(request.position(), request.sort(), request.limit()),
+                request, CourseDto::fromEntity,
+                includeTotal ? () -> pagination.estimateRows("courses", courseService::count) : null);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CourseDto> getCourseById(@PathVariable Long id) {
         return courseService.findById(id)
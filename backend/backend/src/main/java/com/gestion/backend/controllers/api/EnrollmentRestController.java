@@ -2,7 +2,9 @@ package com.gestion.backend.controllers.api;
 
 import com.gestion.backend.dtos.EnrollmentDto;
 import com.gestion.backend.dtos.EnrollmentRequest;
+import com.gestion.backend.dtos.PageResponse;
 import com.gestion.backend.entities.Enrollment;
+import com.gestion.backend.pagination.KeysetPagination;
 import com.gestion.backend.services.EnrollmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -19,6 +22,7 @@ import java.util.stream.Collectors;
 public class EnrollmentRestController {
 
     private final EnrollmentService enrollmentService;
+    private final KeysetPagination pagination;
 
     @PostMapping
     public ResponseEntity<Enrollment> enrollStudent(@Valid @RequestBody EnrollmentRequest request) {
@@ -32,6 +36,19 @@ public class EnrollmentRestController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/student/{studentId}/page")
+    public PageResponse<EnrollmentDto> getStudentEnrollmentPage(@PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetPagination.Request request = pagination.request(cursor, size, sort,
+                Set.of("id", "enrollmentDate"), "enrollmentDate");
+        return pagination.response(
+                enrollmentService.getStudentEnrollments(studentId, request.position(), request.sort(), request.limit()),
+                request, EnrollmentDto::fromEntity,
+                includeTotal ? () -> enrollmentService.countStudentEnrollments(studentId) : null);
+    }
+
     @GetMapping("/student/{studentId}")
     public List<EnrollmentDto> getStudentEnrollments(@PathVariable Long studentId) {
         return enrollmentService.getStudentEnrollments(studentId).stream()
@@ -0,0 +1,80 @@
+package com.gestion.backend.controllers.api;
+
+import com.gestion.backend.exceptions.BadRequestException;
+import com.gestion.backend.services.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportRestController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/students")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format f = parseFormat(format);
+        return stream("students", f, gzip, out -> exportService.exportStudents(out, f));
+    }
+
+    @GetMapping("/enrollments")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format f = parseFormat(format);
+        return stream("enrollments", f, gzip, out -> exportService.exportEnrollments(out, f));
+    }
+
+    @GetMapping("/grades")
+    public ResponseEntity<StreamingResponseBody> exportGrades(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format f = parseFormat(format);
+        return stream("grades", f, gzip, out -> exportService.exportGrades(out, f));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportService.Format format, boolean gzip,
+            Export export) {
+        String extension = format == ExportService.Format.CSV ? ".csv" : ".ndjson";
+        MediaType type = format == ExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024)) {
+                    export.writeTo(zipped);
+                }
+            } else {
+                export.writeTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : type)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + name + extension + (gzip ? ".gz" : ""))
+                .body(body);
+    }
+
+    private static ExportService.Format parseFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + format + ", expected ndjson or csv");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,156 @@
+package com.gestion.backend.controllers.api;
+
+import com.gestion.backend.config.ReferenceResolver;
+import com.gestion.backend.datasource.ReplicaRoutingDataSource;
+import com.gestion.backend.reports.TranscriptCache;
+import com.gestion.backend.reports.TranscriptPdfRenderer;
+import com.gestion.backend.reports.TranscriptRenderExecutor;
+import com.gestion.backend.search.TrigramIndex;
+import com.gestion.backend.search.TypeaheadIndex;
+import com.gestion.backend.security.CachingUserDetailsService;
+import com.gestion.backend.security.PasswordHashingExecutor;
+import com.gestion.backend.security.VerifiedTokenCache;
+import com.gestion.backend.dtos.StatsReconciliationReport;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.ReportJobService;
+import com.gestion.backend.services.IdentityLinkService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsRestController {
+
+    private final VerifiedTokenCache tokenCache;
+    private final CachingUserDetailsService userDetailsCache;
+    private final IdentityLinkService identityLinkService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final TrigramIndex searchIndex;
+    private final TypeaheadIndex typeaheadIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReferenceResolver referenceResolver;
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+    private final GradeStatsService gradeStatsService;
+    private final TranscriptPdfRenderer transcriptPdfRenderer;
+    private final TranscriptRenderExecutor transcriptRenderExecutor;
+    private final TranscriptCache transcriptCache;
+    private final ReportJobService reportJobService;
+
+    @GetMapping
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("jwtCache", Map.of(
+                "size", tokenCache.size(),
+                "hits", tokenCache.getHits(),
+                "misses", tokenCache.getMisses(),
+                "evictions", tokenCache.getEvictions()));
+        metrics.put("userDetailsCache", Map.of(
+                "size", userDetailsCache.size(),
+                "hits", userDetailsCache.getHits(),
+                "negativeHits", userDetailsCache.getNegativeHits(),
+                "misses", userDetailsCache.getMisses(),
+                "evictions", userDetailsCache.getEvictions(),
+                "hitRatio", userDetailsCache.getHitRatio()));
+        metrics.put("identityLink", Map.of(
+                "lastBackfillLinked", identityLinkService.getLastBackfillCount(),
+                "loginLinkAttempts", identityLinkService.getLoginLinkAttempts(),
+                "loginLinkSuccesses", identityLinkService.getLoginLinkSuccesses()));
+        metrics.put("passwordHashing", Map.of(
+                "poolSize", passwordHashingExecutor.getPoolSize(),
+                "active", passwordHashingExecutor.getActiveCount(),
+                "queueDepth", passwordHashingExecutor.getQueueDepth(),
+                "completed", passwordHashingExecutor.getCompleted(),
+                "rejected", passwordHashingExecutor.getRejected(),
+                "timedOut", passwordHashingExecutor.getTimedOut(),
+                "avgMillis", passwordHashingExecutor.getAverageMillis(),
+                "maxMillis", passwordHashingExecutor.getMaxMillis()));
+        metrics.put("searchIndex", Map.of(
+                "documents", searchIndex.size(),
+                "trigrams", searchIndex.trigramCount()));
+        metrics.put("typeahead", Map.of(
+                "students", typeaheadIndex.size(TypeaheadIndex.Kind.STUDENTS),
+                "courses", typeaheadIndex.size(TypeaheadIndex.Kind.COURSES),
+                "groups", typeaheadIndex.size(TypeaheadIndex.Kind.GROUPS),
+                "nodes", typeaheadIndex.nodeCount(TypeaheadIndex.Kind.STUDENTS)
+                        + typeaheadIndex.nodeCount(TypeaheadIndex.Kind.COURSES)
+                        + typeaheadIndex.nodeCount(TypeaheadIndex.Kind.GROUPS)));
+        metrics.put("secondLevelCache", secondLevelCache());
+        metrics.put("referenceResolver", Map.of(
+                "lookups", referenceResolver.getLookups(),
+                "memoHits", referenceResolver.getMemoHits()));
+        metrics.put("transcriptPdf", Map.of(
+                "rendered", transcriptPdfRenderer.getRendered(),
+                "failed", transcriptPdfRenderer.getFailed(),
+                "bytesWritten", transcriptPdfRenderer.getBytesWritten(),
+                "avgMillis", transcriptPdfRenderer.getAverageMillis(),
+                "maxMillis", transcriptPdfRenderer.getMaxMillis()));
+        metrics.put("transcriptCache", Map.ofEntries(
+                Map.entry("size", transcriptCache.size()),
+                Map.entry("bytes", transcriptCache.getBytes()),
+                Map.entry("maxBytes", transcriptCache.getMaxBytes()),
+                Map.entry("hits", transcriptCache.getHits()),
+                Map.entry("diskHits", transcriptCache.getDiskHits()),
+                Map.entry("misses", transcriptCache.getMisses()),
+                Map.entry("notModified", transcriptCache.getNotModified()),
+                Map.entry("evictions", transcriptCache.getEvictions()),
+                Map.entry("diskEnabled", transcriptCache.isDiskEnabled()),
+                Map.entry("diskSize", transcriptCache.getDiskSize()),
+                Map.entry("diskBytes", transcriptCache.getDiskBytes())));
+        metrics.put("bulkTranscripts", Map.of(
+                "threads", transcriptRenderExecutor.getPoolSize(),
+                "window", transcriptRenderExecutor.getWindow(),
+                "active", transcriptRenderExecutor.getActiveCount(),
+                "queued", transcriptRenderExecutor.getQueueDepth(),
+                "archives", transcriptRenderExecutor.getArchives(),
+                "transcripts", transcriptRenderExecutor.getTranscripts(),
+                "transcriptsPerSecond", transcriptRenderExecutor.getTranscriptsPerSecond()));
+        metrics.put("reportJobs", reportJobService.getMetrics());
+        StatsReconciliationReport reconciliation = gradeStatsService.getLastReconciliation();
+        if (reconciliation != null) {
+            metrics.put("gradeStatsReconciliation", reconciliation);
+        }
+        routingDataSource.ifAvailable(routing -> metrics.put("dataSourceRouting", Map.of(
+                "fallbacks", routing.getFallbacks(),
+                "routes", routing.getRoutes())));
+        return metrics;
+    }
+
+    private Map<String, Object> secondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("hits", statistics.getSecondLevelCacheHitCount());
+        cache.put("misses", statistics.getSecondLevelCacheMissCount());
+        cache.put("puts", statistics.getSecondLevelCachePutCount());
+        cache.put("hitRatio", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        cache.put("queryHits", statistics.getQueryCacheHitCount());
+        cache.put("queryMisses", statistics.getQueryCacheMissCount());
+        cache.put("queryHitRatio", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, Map.of(
+                        "hits", stats.getHitCount(),
+                        "misses", stats.getMissCount(),
+                        "puts", stats.getPutCount(),
+                        "hitRatio", ratio(stats.getHitCount(), stats.getMissCount())));
+            }
+        }
+        cache.put("regions", regions);
+        return cache;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
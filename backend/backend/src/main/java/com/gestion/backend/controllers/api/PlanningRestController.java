@@ -1,9 +1,9 @@
 package com.gestion.backend.controllers.api;
 
 import com.gestion.backend.dtos.SeanceDto;
+import com.gestion.backend.security.CurrentUser;
 import com.gestion.backend.services.PlanningService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,8 +16,8 @@ public class PlanningRestController {
     private final PlanningService planningService;
 
     @GetMapping("/my-schedule")
-    public List<SeanceDto> getMySchedule(Authentication auth) {
-        return planningService.getSeancesByStudent(auth.getName()).stream()
+    public List<SeanceDto> getMySchedule(CurrentUser currentUser) {
+        return planningService.getSeancesByStudent(currentUser.getStudentId()).stream()
                 .map(SeanceDto::fromEntity)
                 .collect(Collectors.toList());
     }
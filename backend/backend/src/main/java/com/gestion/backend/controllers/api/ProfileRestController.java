@@ -2,8 +2,10 @@ package com.gestion.backend.controllers.api;
 
 import com.gestion.backend.entities.User;
 import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.CachingUserDetailsService;
+import com.gestion.backend.security.CurrentUser;
+import com.gestion.backend.security.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,18 +16,24 @@ public class ProfileRestController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CachingUserDetailsService userDetailsCache;
 
     @GetMapping
-    public User getProfile(Authentication auth) {
-        return userRepository.findByUsername(auth.getName())
+    public User getProfile(CurrentUser currentUser) {
+        return userRepository.findById(currentUser.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
     @PostMapping("/change-password")
-    public void changePassword(Authentication auth, @RequestParam String newPassword) {
-        User user = userRepository.findByUsername(auth.getName())
+    public void changePassword(CurrentUser currentUser, @RequestParam String newPassword) {
+        User user = userRepository.findById(currentUser.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setPassword(passwordEncoder.encode(newPassword));
+        // Tokens issued with the old password are rejected from now on
+        tokenVersionRegistry.revokeTokens(user);
         userRepository.save(user);
+        tokenVersionRegistry.update(user);
+        userDetailsCache.evict(user.getUsername());
     }
 }
@@ -0,0 +1,51 @@
+package com.gestion.backend.controllers.api;
+
+import com.gestion.backend.dtos.ReportJobStatus;
+import com.gestion.backend.services.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Heavy reports are submitted here and run in the background: poll the status, then download the result.
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+public class ReportJobRestController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReportJobStatus> submit(@RequestParam ReportJobService.Type type,
+            @RequestParam(required = false) Long id) {
+        ReportJobStatus status = reportJobService.submit(type, id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + status.getId()))
+                .body(status);
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ReportJobStatus getStatus(@PathVariable String jobId) {
+        return reportJobService.getStatus(jobId);
+    }
+
+    @GetMapping("/{jobId}/result")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        ReportJobService.Result result = reportJobService.getResult(jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(result.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + result.fileName())
+                .body(new FileSystemResource(result.file()));
+    }
+}
@@ -1,14 +1,31 @@
 package com.gestion.backend.controllers.api;
 
+import com.gestion.backend.dtos.GradeStats;
+import com.gestion.backend.dtos.StatsReconciliationReport;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.exceptions.BadRequestException;
+import com.gestion.backend.exceptions.ResourceNotFoundException;
+import com.gestion.backend.reports.TranscriptCache;
+import com.gestion.backend.security.CurrentUser;
+import com.gestion.backend.services.GradeStatsService;
 import com.gestion.backend.services.ReportService;
+import com.gestion.backend.services.SpecialtyService;
+import com.gestion.backend.services.StudentGroupService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -16,17 +33,96 @@ import java.io.ByteArrayInputStream;
 public class ReportRestController {
 
     private final ReportService reportService;
+    private final GradeStatsService gradeStatsService;
+    private final StudentGroupService studentGroupService;
+    private final SpecialtyService specialtyService;
+    private final TranscriptCache transcriptCache;
 
     @GetMapping("/student/{studentId}/pdf")
-    public ResponseEntity<InputStreamResource> downloadGradesPdf(@PathVariable Long studentId) {
-        ByteArrayInputStream bis = reportService.generateGradesPdf(studentId);
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "inline; filename=grades.pdf");
-
-        return ResponseEntity
-                .ok()
-                .headers(headers)
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(new InputStreamResource(bis));
+    public void downloadGradesPdf(@PathVariable Long studentId, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // Also checks the student exists, before the headers are set so a missing student still gets a JSON error
+        String tag = reportService.getTranscriptTag(studentId);
+        // Weak: a PDF rendered again for the same tag has the same content but not the same bytes
+        String etag = "W/\"" + tag + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            transcriptCache.recordNotModified();
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=grades.pdf");
+        response.setHeader(HttpHeaders.ETAG, etag);
+
+        byte[] cached = transcriptCache.get(studentId, tag);
+        if (cached != null) {
+            response.setContentLength(cached.length);
+            response.getOutputStream().write(cached);
+            return;
+        }
+        TranscriptCache.Capture capture = transcriptCache.capture(response.getOutputStream());
+        reportService.writeGradesPdf(studentId, capture);
+        transcriptCache.put(studentId, tag, capture);
+    }
+
+    // Streamed as the transcripts are rendered, a background job (/api/reports/jobs) keeps the file for later.
+    // The ZIP is written from the async executor, the servlet thread is released once the headers are set
+    @GetMapping("/group/{groupId}/transcripts.zip")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadGroupTranscripts(@PathVariable Long groupId) {
+        studentGroupService.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found"));
+        return zip("transcripts-group-" + groupId + ".zip",
+                out -> reportService.writeGroupTranscriptsZip(groupId, out));
+    }
+
+    @GetMapping("/specialty/{specialtyId}/transcripts.zip")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadSpecialtyTranscripts(@PathVariable Long specialtyId) {
+        specialtyService.findById(specialtyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Specialty not found"));
+        return zip("transcripts-specialty-" + specialtyId + ".zip",
+                out -> reportService.writeSpecialtyTranscriptsZip(specialtyId, out));
+    }
+
+    @GetMapping("/student/{studentId}/stats")
+    public GradeStats getStudentStats(@PathVariable Long studentId, CurrentUser currentUser) {
+        // Staff see any student, everyone else only their own stats
+        if (currentUser.getRole() != User.Role.ADMIN && currentUser.getRole() != User.Role.TRAINER
+                && !studentId.equals(currentUser.getStudentId())) {
+            throw new AccessDeniedException("Stats of student " + studentId + " are not yours");
+        }
+        return reportService.getStudentStats(studentId);
+    }
+
+    @GetMapping("/course/{courseId}/stats")
+    public GradeStats getCourseStats(@PathVariable Long courseId) {
+        return reportService.getCourseStats(courseId);
+    }
+
+    @GetMapping("/courses/stats")
+    public List<GradeStats> getAllCourseStats() {
+        return reportService.getAllCourseStats();
+    }
+
+    @GetMapping("/students/gpa")
+    public Map<Long, Double> getStudentGpas(@RequestParam List<Long> ids) {
+        if (ids.size() > 1000) {
+            throw new BadRequestException("At most 1000 student ids per request");
+        }
+        return reportService.calculateStudentGpas(ids);
+    }
+
+    @PostMapping("/stats/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public StatsReconciliationReport reconcileStats() {
+        return gradeStatsService.reconcile();
+    }
+
+    private static ResponseEntity<StreamingResponseBody> zip(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .body(body);
     }
 }
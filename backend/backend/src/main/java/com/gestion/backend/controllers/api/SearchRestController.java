@@ -0,0 +1,35 @@
+package com.gestion.backend.controllers.api;
+
+import com.gestion.backend.exceptions.BadRequestException;
+import com.gestion.backend.search.SearchHit;
+import com.gestion.backend.search.SearchType;
+import com.gestion.backend.search.TrigramIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchRestController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TrigramIndex index;
+
+    @GetMapping
+    public List<SearchHit> search(@RequestParam String q, @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") int limit) {
+        SearchType searchType = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                searchType = SearchType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown search type: " + type);
+            }
+        }
+        return index.search(q, searchType, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
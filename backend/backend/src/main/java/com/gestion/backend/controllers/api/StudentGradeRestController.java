@@ -2,15 +2,26 @@ package com.gestion.backend.controllers.api;
 
 import com.gestion.backend.dtos.GradeDto;
 import com.gestion.backend.dtos.GradeRequest;
+import com.gestion.backend.dtos.GradeSheetRequest;
+import com.gestion.backend.dtos.GradeSheetResult;
+import com.gestion.backend.dtos.PageResponse;
+import com.gestion.backend.entities.Course;
 import com.gestion.backend.entities.Grade;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.exceptions.ResourceNotFoundException;
+import com.gestion.backend.pagination.KeysetPagination;
+import com.gestion.backend.security.CurrentUser;
+import com.gestion.backend.services.CourseService;
 import com.gestion.backend.services.GradeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -19,6 +30,8 @@ import java.util.stream.Collectors;
 public class StudentGradeRestController {
 
     private final GradeService gradeService;
+    private final CourseService courseService;
+    private final KeysetPagination pagination;
 
     @PostMapping
     public ResponseEntity<Grade> assignGrade(@Valid @RequestBody GradeRequest request) {
@@ -26,6 +39,33 @@ public class StudentGradeRestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(grade);
     }
 
+    @PostMapping("/course/{courseId}/sheet")
+    public GradeSheetResult submitGradeSheet(@PathVariable Long courseId,
+            @Valid @RequestBody GradeSheetRequest request, CurrentUser currentUser) {
+        // Admins grade any course, trainers only the ones assigned to them
+        if (currentUser.getRole() == User.Role.TRAINER) {
+            Course course = courseService.findById(courseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+            if (!currentUser.teaches(course)) {
+                throw new AccessDeniedException("Course " + courseId + " is not assigned to this trainer");
+            }
+        }
+        return gradeService.submitGradeSheet(courseId, request.getGrades());
+    }
+
+    @GetMapping("/student/{studentId}/page")
+    public PageResponse<GradeDto> getStudentGradePage(@PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetPagination.Request request = pagination.request(cursor, size, sort,
+                Set.of("id", "value"), "id");
+        return pagination.response(
+                gradeService.getStudentGrades(studentId, request.position(), request.sort(), request.limit()),
+                request, GradeDto::fromEntity,
+                includeTotal ? () -> gradeService.countStudentGrades(studentId) : null);
+    }
+
     @GetMapping("/student/{studentId}")
     public List<GradeDto> getStudentGrades(@PathVariable Long studentId) {
         return gradeService.getStudentGrades(studentId).stream()
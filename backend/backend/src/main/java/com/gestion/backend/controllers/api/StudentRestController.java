@@ -1,7 +1,11 @@
 package com.gestion.backend.controllers.api;
 
+import com.gestion.backend.dtos.ImportReport;
+import com.gestion.backend.dtos.PageResponse;
 import com.gestion.backend.dtos.StudentDto;
 import com.gestion.backend.entities.Student;
+import com.gestion.backend.pagination.KeysetPagination;
+import com.gestion.backend.services.StudentImportService;
 import com.gestion.backend.services.StudentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,8 +13,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,6 +26,8 @@ public class StudentRestController {
 
     private final StudentService studentService;
     private final com.gestion.backend.services.StudentGroupService groupService;
+    private final StudentImportService studentImportService;
+    private final KeysetPagination pagination;
 
     @GetMapping
     public List<StudentDto> getAllStudents() {
@@ -28,6 +36,17 @@ public class StudentRestController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/page")
+    public PageResponse<StudentDto> getStudentPage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetPagination.Request request = pagination.request(cursor, size, sort,
+                Set.of("id", "lastName", "matricule", "email"), "lastName");
+        return pagination.response(studentService.findPage(request.position(), request.sort(), request.limit()),
+                request, StudentDto::fromEntity,
+                includeTotal ? () -> pagination.estimateRows("students", studentService::count) : null);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<StudentDto> getStudentById(@PathVariable Long id) {
         return studentService.findById(id)
@@ -43,6 +62,11 @@ public class StudentRestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(StudentDto.fromEntity(saved));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReport importStudents(InputStream body) {
+        return studentImportService.importCsv(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentDto studentDto) {
         Student student = convertToEntity(studentDto);
@@ -1,7 +1,9 @@
 package com.gestion.backend.controllers.api;
 
+import com.gestion.backend.dtos.PageResponse;
 import com.gestion.backend.dtos.TrainerDto;
 import com.gestion.backend.entities.Trainer;
+import com.gestion.backend.pagination.KeysetPagination;
 import com.gestion.backend.services.TrainerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -18,6 +21,7 @@ import java.util.stream.Collectors;
 public class TrainerRestController {
 
     private final TrainerService trainerService;
+    private final KeysetPagination pagination;
 
     @GetMapping
     public List<TrainerDto> getAllTrainers() {
@@ -26,6 +30,18 @@ public class TrainerRestController {
                 .collect(Collectors.toList());
     }
 
+    // Summaries only: expanding every trainer's courses would cost a query per row
+    @GetMapping("/page")
+    public PageResponse<TrainerDto> getTrainerPage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetPagination.Request request = pagination.request(cursor, size, sort,
+                Set.of("id", "name", "email"), "name");
+        return pagination.response(trainerService.findPage(request.position(), request.sort(), request.limit()),
+                request, TrainerDto::summaryOf,
+                includeTotal ? () -> pagination.estimateRows("trainers", trainerService::count) : null);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TrainerDto> getTrainerById(@PathVariable Long id) {
         return trainerService.findById(id)
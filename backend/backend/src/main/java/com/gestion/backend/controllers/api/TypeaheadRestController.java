@@ -0,0 +1,37 @@
+package com.gestion.backend.controllers.api;
+
+import com.gestion.backend.search.Suggestion;
+import com.gestion.backend.search.TypeaheadIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/typeahead")
+@RequiredArgsConstructor
+public class TypeaheadRestController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TypeaheadIndex typeahead;
+
+    @GetMapping("/students")
+    public List<Suggestion> students(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return typeahead.complete(TypeaheadIndex.Kind.STUDENTS, q, cap(limit));
+    }
+
+    @GetMapping("/courses")
+    public List<Suggestion> courses(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return typeahead.complete(TypeaheadIndex.Kind.COURSES, q, cap(limit));
+    }
+
+    @GetMapping("/groups")
+    public List<Suggestion> groups(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return typeahead.complete(TypeaheadIndex.Kind.GROUPS, q, cap(limit));
+    }
+
+    private static int cap(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
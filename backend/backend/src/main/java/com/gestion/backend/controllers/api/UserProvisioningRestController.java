@@ -0,0 +1,26 @@
+package com.gestion.backend.controllers.api;
+
+import com.gestion.backend.dtos.ImportReport;
+import com.gestion.backend.services.UserProvisioningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserProvisioningRestController {
+
+    private final UserProvisioningService provisioningService;
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ImportReport provisionCsv(InputStream body) {
+        return provisioningService.provisionCsv(body);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public ImportReport provisionNdjson(InputStream body) {
+        return provisioningService.provisionNdjson(body);
+    }
+}
@@ -1,16 +1,23 @@
 package com.gestion.backend.controllers.formateur;
 
+import com.gestion.backend.dtos.GradeSheetRequest;
+import com.gestion.backend.dtos.GradeSheetResult;
 import com.gestion.backend.entities.Trainer;
 import com.gestion.backend.entities.Course;
+import com.gestion.backend.security.CurrentUser;
 import com.gestion.backend.services.CourseService;
 import com.gestion.backend.services.TrainerService;
 import com.gestion.backend.services.GradeService;
 import com.gestion.backend.services.EnrollmentService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/formateur")
@@ -22,15 +29,11 @@ public class FormateurController {
     private final GradeService gradeService;
     private final EnrollmentService enrollmentService;
 
-    private final com.gestion.backend.repositories.UserRepository userRepository;
-
     @GetMapping("/dashboard")
-    public String dashboard(Authentication auth, Model model) {
-        String username = auth.getName();
-        com.gestion.backend.entities.User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public String dashboard(CurrentUser currentUser, Model model) {
+        String username = currentUser.getUsername();
 
-        Long trainerId = user.getTrainerId();
+        Long trainerId = currentUser.getTrainerId();
         if (trainerId == null) {
             // Fallback to email search if trainerId not linked in User record
             trainerId = trainerService.findByEmail(username)
@@ -45,21 +48,8 @@ public class FormateurController {
     }
 
     @GetMapping("/course/{id}/grades")
-    public String manageGrades(@PathVariable Long id, Authentication auth, Model model) {
-        String username = auth.getName();
-        com.gestion.backend.entities.User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Course course = courseService.findById(id).orElseThrow(() -> new RuntimeException("Course not found"));
-
-        // Security check: Ensure this course belongs to the logged-in trainer
-        boolean isAssignedToMe = course.getTrainer() != null &&
-                ((user.getTrainerId() != null && course.getTrainer().getId().equals(user.getTrainerId())) ||
-                        (course.getTrainer().getEmail().equals(username)));
-
-        if (!isAssignedToMe) {
-            throw new RuntimeException("Unauthorized: You do not have access to this course.");
-        }
+    public String manageGrades(@PathVariable Long id, CurrentUser currentUser, Model model) {
+        Course course = requireOwnCourse(id, currentUser);
 
         model.addAttribute("course", course);
         model.addAttribute("enrollments", enrollmentService.getCourseEnrollments(id));
@@ -74,9 +64,66 @@ public class FormateurController {
         return "formateur/course";
     }
 
+    @PostMapping("/course/{id}/grade-sheet")
+    public String submitGradeSheet(@PathVariable Long id, @RequestParam Map<String, String> params,
+            CurrentUser currentUser, RedirectAttributes redirectAttributes) {
+        requireOwnCourse(id, currentUser);
+
+        // One input per enrolled student, named grade_<studentId>; blank inputs are left untouched
+        List<GradeSheetRequest.Entry> entries = new ArrayList<>();
+        List<GradeSheetResult.Outcome> unreadable = new ArrayList<>();
+        params.forEach((name, value) -> {
+            if (name.startsWith("grade_") && !value.isBlank()) {
+                Long studentId = parseLong(name.substring("grade_".length()));
+                Double grade = parseDouble(value);
+                if (studentId == null || grade == null) {
+                    unreadable.add(new GradeSheetResult.Outcome(studentId, null, GradeSheetResult.Status.REJECTED,
+                            "Not a valid grade: " + value.trim()));
+                } else {
+                    entries.add(new GradeSheetRequest.Entry(studentId, grade));
+                }
+            }
+        });
+        if (!entries.isEmpty() || !unreadable.isEmpty()) {
+            GradeSheetResult result = entries.isEmpty() ? new GradeSheetResult(id)
+                    : gradeService.submitGradeSheet(id, entries);
+            unreadable.forEach(o -> result.add(o.getStudentId(), null, o.getStatus(), o.getMessage()));
+            redirectAttributes.addFlashAttribute("sheetResult", result);
+        }
+        return "redirect:/formateur/course/" + id + "/grades";
+    }
+
     @PostMapping("/course/assign-grade")
     public String assignGrade(@RequestParam Long studentId, @RequestParam Long courseId, @RequestParam Double value) {
         gradeService.assignGrade(studentId, courseId, value);
         return "redirect:/formateur/course/" + courseId + "/grades";
     }
+
+    private Course requireOwnCourse(Long id, CurrentUser currentUser) {
+        Course course = courseService.findById(id).orElseThrow(() -> new RuntimeException("Course not found"));
+
+        // Security check: Ensure this course belongs to the logged-in trainer
+        if (!currentUser.teaches(course)) {
+            throw new RuntimeException("Unauthorized: You do not have access to this course.");
+        }
+        return course;
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Accepts a decimal comma, the way grades are usually typed in
+    private static Double parseDouble(String value) {
+        try {
+            double parsed = Double.parseDouble(value.trim().replace(',', '.'));
+            return Double.isFinite(parsed) ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.gestion.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Function;
+
+/**
+ * Small read-only pool for the full-table reads (exports, search index load), opened with useCursorFetch so
+ * their fetch size is honoured by a server-side cursor instead of buffering the whole result.
+ * Kept apart from spring.datasource: the flag turns every PreparedStatement of a pool into a server-side one,
+ * an extra prepare round trip the short OLTP queries should not pay.
+ * Not a DataSource bean, so the auto-configured pool and the replica routing are unaffected.
+ */
+@Component
+public class ExportConnectionPool implements DisposableBean {
+
+    private final HikariDataSource pool;
+    private final SessionFactory sessionFactory;
+
+    public ExportConnectionPool(DataSourceProperties dataSourceProperties, EntityManagerFactory entityManagerFactory,
+            @Value("${app.datasource.export.max-pool-size:2}") int maxPoolSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Connections are only opened on first use
+        this.pool = new HikariDataSource();
+        pool.setPoolName("export");
+        pool.setJdbcUrl(withCursorFetch(dataSourceProperties.determineUrl()));
+        pool.setUsername(dataSourceProperties.determineUsername());
+        pool.setPassword(dataSourceProperties.determinePassword());
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        pool.setMaximumPoolSize(maxPoolSize);
+        pool.setReadOnly(true);
+    }
+
+    /**
+     * Runs the work in a read-only Hibernate session bound to a connection of this pool. Entities it loads are
+     * detached once it returns, and nothing joins the caller's transaction.
+     */
+    public <R> R inSession(Function<Session, R> work) {
+        try (Connection connection = pool.getConnection();
+             Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+            session.setDefaultReadOnly(true);
+            return work.apply(session);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("No export connection available", e);
+        }
+    }
+
+    public Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+
+    @Override
+    public void destroy() {
+        pool.close();
+    }
+
+    // Only Connector/J knows the flag, other URLs (H2 in dev) are used as they are
+    static String withCursorFetch(String url) {
+        if (!url.startsWith("jdbc:mysql:") || url.contains("useCursorFetch=")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true";
+    }
+}
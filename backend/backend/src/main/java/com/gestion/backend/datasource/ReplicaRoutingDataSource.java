@@ -0,0 +1,204 @@
+package com.gestion.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out replica connections inside read-only transactions (round robin over the healthy replicas)
+ * and primary connections everywhere else. A replica that fails a connection attempt or a health check,
+ * or lags more than the configured maximum, is skipped until the next successful check; with no usable
+ * replica reads go to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before the read-only flag of the transaction is published.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final String[] LAG_COLUMNS = { "Seconds_Behind_Source", "Seconds_Behind_Master" };
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final String lagQuery;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong primaryRouted = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+            ReplicaRoutingProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.lagQuery = properties.getLagQuery();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = pickReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.routed.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e.getMessage());
+                }
+            }
+            fallbacks.incrementAndGet();
+        }
+        primaryRouted.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Probes every replica and records whether it is reachable and how far behind it is.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(2)) {
+                    replica.markDown("connection not valid");
+                    continue;
+                }
+                long lag = measureLagMillis(connection);
+                replica.lagMillis = lag;
+                if (lag < 0) {
+                    replica.markDown("replication stopped");
+                } else if (lag > maxLagMillis) {
+                    replica.markDown("lagging " + lag + " ms");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Per route: connections handed out, health, lag and pool usage.
+     */
+    public Map<String, Object> getRoutes() {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        routes.put(primary.getPoolName(), route(primary, primaryRouted.get(), true, 0));
+        for (Replica replica : replicas) {
+            routes.put(replica.dataSource.getPoolName(),
+                    route(replica.dataSource, replica.routed.get(), replica.healthy, replica.lagMillis));
+        }
+        return routes;
+    }
+
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // -1 when the replica reports no delay (replication stopped), 0 when it is not a replica at all
+    private long measureLagMillis(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            long seconds = rs.getLong(lagColumn(rs.getMetaData()));
+            return rs.wasNull() ? -1 : seconds * 1000;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Map<String, Object> route(HikariDataSource dataSource, long routed, boolean healthy, long lagMillis) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        Map<String, Object> route = new LinkedHashMap<>();
+        route.put("routed", routed);
+        route.put("healthy", healthy);
+        route.put("lagMillis", lagMillis);
+        if (pool != null) {
+            route.put("active", pool.getActiveConnections());
+            route.put("idle", pool.getIdleConnections());
+            route.put("total", pool.getTotalConnections());
+            route.put("waiting", pool.getThreadsAwaitingConnection());
+        }
+        return route;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final AtomicLong routed = new AtomicLong();
+        // Unknown until the first health check, reads stay on the primary until then
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica {} taken out of rotation: {}", dataSource.getPoolName(), reason);
+            }
+            healthy = false;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Replica {} back in rotation (lag {} ms)", dataSource.getPoolName(), lagMillis);
+            }
+            healthy = true;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.gestion.backend.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas used for {@code @Transactional(readOnly = true)} work, see {@link ReplicaRoutingDataSource}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas further behind the primary than this are skipped until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** Returns the replication delay in seconds (e.g. SHOW REPLICA STATUS); blank = connectivity check only. */
+    private String lagQuery;
+
+    /** How long a read waits for a replica connection before falling back to the primary. */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        /** Defaults to spring.datasource.username / password. */
+        private String username;
+        private String password;
+        private int maxPoolSize = 10;
+    }
+}
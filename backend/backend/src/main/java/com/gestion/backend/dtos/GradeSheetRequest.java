@@ -0,0 +1,28 @@
+package com.gestion.backend.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class GradeSheetRequest {
+    @NotEmpty(message = "At least one grade is required")
+    @Valid
+    private List<Entry> grades;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        @NotNull(message = "Student ID is required")
+        private Long studentId;
+
+        // Range is checked by the service so one bad value doesn't reject the whole sheet
+        private Double value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.gestion.backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class GradeSheetResult {
+    private Long courseId;
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private List<Outcome> outcomes = new ArrayList<>();
+
+    public GradeSheetResult(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void add(Long studentId, Double value, Status status, String message) {
+        switch (status) {
+            case CREATED -> created++;
+            case UPDATED -> updated++;
+            case UNCHANGED -> unchanged++;
+            case REJECTED -> rejected++;
+        }
+        outcomes.add(new Outcome(studentId, value, status, message));
+    }
+
+    public enum Status {
+        CREATED, UPDATED, UNCHANGED, REJECTED
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Outcome {
+        private Long studentId;
+        private Double value;
+        private Status status;
+        private String message;
+    }
+}
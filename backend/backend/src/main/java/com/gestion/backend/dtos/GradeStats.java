@@ -0,0 +1,24 @@
+package com.gestion.backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Grade statistics for one course or one student. Averages and the success rate are 0 when there are no grades.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeStats {
+    private Long id;
+    private long count;
+    private double average;
+    private Double min;
+    private Double max;
+    private double standardDeviation;
+    private long passed;
+    private double successRate;
+}
@@ -0,0 +1,51 @@
+package com.gestion.backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void success(int line, String key, String message) {
+        total++;
+        succeeded++;
+        rows.add(new RowResult(line, key, RowStatus.CREATED, message));
+    }
+
+    /**
+     * Counts created rows without keeping a per-row entry, for imports too large to echo back.
+     */
+    public void successes(int count) {
+        total += count;
+        succeeded += count;
+    }
+
+    public void failure(int line, String key, String message) {
+        total++;
+        failed++;
+        rows.add(new RowResult(line, key, RowStatus.FAILED, message));
+    }
+
+    public enum RowStatus {
+        CREATED, FAILED
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowResult {
+        private int line;
+        private String key;
+        private RowStatus status;
+        private String message;
+    }
+}
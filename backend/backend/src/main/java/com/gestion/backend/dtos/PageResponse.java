@@ -0,0 +1,24 @@
+package com.gestion.backend.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated collection. Pass {@code nextCursor} back as {@code cursor} to get the
+ * next page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    // Only filled when requested with includeTotal=true, may be approximate for large tables
+    private Long totalEstimate;
+}
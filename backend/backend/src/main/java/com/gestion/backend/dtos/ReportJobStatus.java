@@ -0,0 +1,31 @@
+package com.gestion.backend.dtos;
+
+import com.gestion.backend.services.ReportJobService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * State of a report job as polled by the client. Timings are null until the job reaches the matching step.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobStatus {
+    private String id;
+    private ReportJobService.Type type;
+    private Long parameter;
+    private ReportJobService.State state;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long queueMillis;
+    private Long runMillis;
+    private Long sizeBytes;
+    private String error;
+    private Instant expiresAt;
+}
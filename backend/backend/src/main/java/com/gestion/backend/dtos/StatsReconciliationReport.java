@@ -0,0 +1,27 @@
+package com.gestion.backend.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outcome of rebuilding student_stats and course_stats from the grades table.
+ * A drifted row is one that was missing, left over, or held different totals; all of them are corrected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsReconciliationReport {
+    private Instant finishedAt;
+    private long durationMillis;
+    private int studentsChecked;
+    private int studentsDrifted;
+    private int coursesChecked;
+    private int coursesDrifted;
+
+    public boolean hasDrift() {
+        return studentsDrifted > 0 || coursesDrifted > 0;
+    }
+}
@@ -34,4 +34,13 @@ public class TrainerDto {
         }
         return dto;
     }
+
+    public static TrainerDto summaryOf(Trainer trainer) {
+        TrainerDto dto = new TrainerDto();
+        dto.setId(trainer.getId());
+        dto.setName(trainer.getName());
+        dto.setEmail(trainer.getEmail());
+        dto.setSpecialty(trainer.getSpecialty());
+        return dto;
+    }
 }
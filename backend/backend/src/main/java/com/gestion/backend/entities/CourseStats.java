@@ -0,0 +1,22 @@
+package com.gestion.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "course_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class CourseStats extends GradeTotals {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    public CourseStats(Long courseId) {
+        this.courseId = courseId;
+    }
+}
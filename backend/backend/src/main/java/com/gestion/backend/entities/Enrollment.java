@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "enrollments")
+@NamedEntityGraph(name = "Enrollment.withStudentAndCourse", attributeNodes = {
+        @NamedAttributeNode("student"), @NamedAttributeNode("course") })
+@Table(name = "enrollments", uniqueConstraints = @UniqueConstraint(name = "uk_enrollments_student_course", columnNames = { "student_id", "course_id" }),
+        indexes = @Index(name = "idx_enrollments_student_date_id", columnList = "student_id, enrollment_date, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,17 +16,18 @@ import java.time.LocalDate;
 public class Enrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private LocalDate enrollmentDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 }
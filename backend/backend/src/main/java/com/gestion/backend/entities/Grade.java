@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "grades")
+@NamedEntityGraph(name = "Grade.withStudentAndCourse", attributeNodes = {
+        @NamedAttributeNode("student"), @NamedAttributeNode("course") })
+@Table(name = "grades", indexes = {
+        @Index(name = "idx_grades_student_id", columnList = "student_id"),
+        @Index(name = "idx_grades_course_id", columnList = "course_id"),
+        @Index(name = "idx_grades_student_value_id", columnList = "student_id, value, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,17 +17,18 @@ import lombok.*;
 public class Grade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_seq")
+    @SequenceGenerator(name = "grades_seq", sequenceName = "grades_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Double value;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 }
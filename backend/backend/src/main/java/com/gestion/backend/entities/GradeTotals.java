@@ -0,0 +1,81 @@
+package com.gestion.backend.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+
+/**
+ * Running totals of the grades of one student or one course, kept in step with the grades table
+ * by GradeStatsService so GPA and success rate are read without scanning grades.
+ */
+@Data
+@MappedSuperclass
+public abstract class GradeTotals {
+
+    public static final double PASS_MARK = 10.0;
+
+    @Column(name = "grade_sum", nullable = false)
+    private double sum;
+
+    @Column(name = "grade_sum_squares", nullable = false)
+    private double sumOfSquares;
+
+    @Column(name = "grade_count", nullable = false)
+    private int count;
+
+    @Column(name = "pass_count", nullable = false)
+    private int passCount;
+
+    @Column(name = "min_value")
+    private Double min;
+
+    @Column(name = "max_value")
+    private Double max;
+
+    public void add(double value) {
+        sum += value;
+        sumOfSquares += value * value;
+        count++;
+        if (value >= PASS_MARK) {
+            passCount++;
+        }
+        min = min == null ? value : Math.min(min, value);
+        max = max == null ? value : Math.max(max, value);
+    }
+
+    /**
+     * Returns true when the removed value was the minimum or maximum, which then has to be reloaded.
+     */
+    public boolean remove(double value) {
+        sum -= value;
+        sumOfSquares -= value * value;
+        count--;
+        if (value >= PASS_MARK) {
+            passCount--;
+        }
+        if (count == 0) {
+            sum = 0;
+            sumOfSquares = 0;
+            min = null;
+            max = null;
+            return false;
+        }
+        return value == min || value == max;
+    }
+
+    public double average() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    public double successRate() {
+        return count == 0 ? 0.0 : (double) passCount / count * 100;
+    }
+
+    public double standardDeviation() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double average = average();
+        return Math.sqrt(Math.max(0.0, sumOfSquares / count - average * average));
+    }
+}
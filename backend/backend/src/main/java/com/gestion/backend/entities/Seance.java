@@ -6,7 +6,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "seances")
+@NamedEntityGraph(name = "Seance.withCourseAndGroup", attributeNodes = {
+        @NamedAttributeNode("course"), @NamedAttributeNode("group") })
+@Table(name = "seances", indexes = {
+        @Index(name = "idx_seances_date", columnList = "date"),
+        @Index(name = "idx_seances_group_date", columnList = "group_id, date") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,14 +18,15 @@ import java.time.LocalTime;
 public class Seance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seances_seq")
+    @SequenceGenerator(name = "seances_seq", sequenceName = "seances_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "group_id", nullable = false)
     private StudentGroup group;
 
@@ -1,21 +1,27 @@
 package com.gestion.backend.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.gestion.backend.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@EntityListeners(SearchIndexListener.class)
+@NamedEntityGraph(name = "Student.withGroup", attributeNodes = @NamedAttributeNode("group"))
+@Table(name = "students", indexes = @Index(name = "idx_students_last_name_id", columnList = "last_name, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -33,7 +39,7 @@ public class Student {
     @Column(nullable = false)
     private LocalDate registrationDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "group_id")
     private StudentGroup group;
 
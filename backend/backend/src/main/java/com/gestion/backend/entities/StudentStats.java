@@ -0,0 +1,30 @@
+package com.gestion.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "student_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class StudentStats extends GradeTotals {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // Bumped with every change to the student's grades, transcripts rendered for an older version are stale
+    @Column(name = "grade_version", nullable = false)
+    private long gradeVersion;
+
+    public StudentStats(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public void bumpGradeVersion() {
+        gradeVersion++;
+    }
+}
@@ -1,20 +1,28 @@
 package com.gestion.backend.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.gestion.backend.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
-@Table(name = "trainers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.trainer")
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "trainers", indexes = @Index(name = "idx_trainers_name_id", columnList = "name, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Trainer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trainers_seq")
+    @SequenceGenerator(name = "trainers_seq", sequenceName = "trainers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -18,7 +18,8 @@ import java.util.List;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -31,9 +32,17 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    // One account per student/trainer, enforced by a unique index
+    @Column(unique = true)
     private Long trainerId;
+    @Column(unique = true)
     private Long studentId;
 
+    // Bumped on password change so previously issued tokens stop being accepted
+    @Column(nullable = false)
+    @Builder.Default
+    private int tokenVersion = 0;
+
     public enum Role {
         ADMIN, TRAINER, STUDENT
     }
@@ -0,0 +1,7 @@
+package com.gestion.backend.exceptions;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gestion.backend.exceptions;
+
+public class ReportGenerationException extends RuntimeException {
+    public ReportGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gestion.backend.exceptions;
+
+public class ReportNotReadyException extends RuntimeException {
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+}
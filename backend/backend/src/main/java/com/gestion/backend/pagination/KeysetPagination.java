@@ -0,0 +1,180 @@
+package com.gestion.backend.pagination;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.backend.dtos.PageResponse;
+import com.gestion.backend.exceptions.InvalidCursorException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Turns the cursor/size/sort request parameters of the /page endpoints into a keyset scroll request,
+ * and a {@link Window} back into a {@link PageResponse}. The cursor carries the sort and the key values
+ * of the last row, so the next page is a range scan on the index whatever its depth.
+ */
+@Component
+@Slf4j
+public class KeysetPagination {
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final long exactCountThreshold;
+
+    public KeysetPagination(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+            @Value("${app.pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${app.pagination.max-page-size:200}") int maxPageSize,
+            @Value("${app.pagination.exact-count-threshold:10000}") long exactCountThreshold) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    public Request request(String cursor, Integer size, String sort, Set<String> sortable, String defaultSort) {
+        int limit = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        if (cursor != null && !cursor.isBlank()) {
+            Decoded decoded = decode(cursor);
+            Sort cursorSort = parseSort(decoded.sort, sortable);
+            // A cursor only resumes the sort it was issued for, other keys would reach the query as is
+            Set<String> properties = new HashSet<>();
+            cursorSort.forEach(order -> properties.add(order.getProperty()));
+            if (!properties.equals(decoded.position.getKeys().keySet())) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new Request(decoded.position, cursorSort, Limit.of(limit), decoded.sort);
+        }
+        String sortSpec = sort == null || sort.isBlank() ? defaultSort : sort;
+        return new Request(ScrollPosition.keyset(), parseSort(sortSpec, sortable), Limit.of(limit), sortSpec);
+    }
+
+    public <T, R> PageResponse<R> response(Window<T> window, Request request, Function<T, R> mapper,
+            Supplier<Long> total) {
+        List<R> items = window.stream().map(mapper).toList();
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encode(request.sortSpec, (KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new PageResponse<>(items, nextCursor, nextCursor != null, total == null ? null : total.get());
+    }
+
+    /**
+     * Row count from the table statistics, falling back to an exact count for small tables or when the
+     * statistics are unavailable. InnoDB estimates are usually within a few percent.
+     */
+    public long estimateRows(String table, Supplier<Long> exactCount) {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(
+                    "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                    Long.class, table);
+            if (estimate != null && estimate >= exactCountThreshold) {
+                return estimate;
+            }
+        } catch (DataAccessException e) {
+            log.debug("No table statistics for {}, counting instead", table, e);
+        }
+        return exactCount.get();
+    }
+
+    private Sort parseSort(String spec, Set<String> sortable) {
+        String[] parts = spec.split(",");
+        String property = parts[0].trim();
+        if (!sortable.contains(property)) {
+            throw new InvalidCursorException("Cannot sort by " + property + ", expected one of " + sortable);
+        }
+        Sort.Direction direction = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        // id last as tie-breaker, so the keyset is unique and pages never skip or repeat rows
+        Sort sort = Sort.by(direction, property);
+        return property.equals("id") ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    private String encode(String sortSpec, KeysetScrollPosition position) {
+        List<List<Object>> keys = new ArrayList<>();
+        position.getKeys().forEach((name, value) -> keys.add(List.of(name, typeOf(value), String.valueOf(value))));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Map.of("s", sortSpec, "k", keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    private Decoded decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, Object> content = objectMapper.readValue(new String(json, StandardCharsets.UTF_8),
+                    new TypeReference<>() {
+                    });
+            @SuppressWarnings("unchecked")
+            List<List<String>> keys = (List<List<String>>) content.get("k");
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (List<String> key : keys) {
+                values.put(key.get(0), valueOf(key.get(1), key.get(2)));
+            }
+            if (!(content.get("s") instanceof String sort)) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new Decoded(sort, ScrollPosition.forward(values));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value instanceof Long) {
+            return "L";
+        } else if (value instanceof Integer) {
+            return "I";
+        } else if (value instanceof Double) {
+            return "F";
+        } else if (value instanceof LocalDate) {
+            return "D";
+        } else if (value instanceof String) {
+            return "S";
+        }
+        throw new IllegalStateException("Unsupported keyset value: " + value.getClass());
+    }
+
+    private static Object valueOf(String type, String value) {
+        return switch (type) {
+            case "L" -> Long.valueOf(value);
+            case "I" -> Integer.valueOf(value);
+            case "F" -> Double.valueOf(value);
+            case "D" -> LocalDate.parse(value);
+            case "S" -> value;
+            default -> throw new InvalidCursorException("Invalid cursor");
+        };
+    }
+
+    public record Request(ScrollPosition position, Sort sort, Limit limit, String sortSpec) {
+    }
+
+    private record Decoded(String sort, KeysetScrollPosition position) {
+    }
+}
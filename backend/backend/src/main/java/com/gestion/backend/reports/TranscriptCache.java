@@ -0,0 +1,337 @@
+package com.gestion.backend.reports;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rendered transcript PDFs, one per student, tagged with the version they were rendered for.
+ * The memory tier is an LRU bounded by total bytes; the optional disk tier (app.transcripts.cache.disk-dir)
+ * keeps a copy of every cached PDF, survives restarts and has its own byte bound.
+ */
+@Component
+@Slf4j
+public class TranscriptCache {
+
+    // Disk files are named <tag>.pdf and tags start with the student id
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d+)-[A-Za-z0-9-]+\\.pdf");
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long diskMaxBytes;
+    private volatile Path diskDir;
+
+    private final LinkedHashMap<Long, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private final LinkedHashMap<Long, Entry> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TranscriptCache(@Value("${app.transcripts.cache.max-bytes:64MB}") DataSize maxBytes,
+            @Value("${app.transcripts.cache.max-entry-bytes:2MB}") DataSize maxEntryBytes,
+            @Value("${app.transcripts.cache.disk-dir:}") String diskDir,
+            @Value("${app.transcripts.cache.disk-max-bytes:512MB}") DataSize diskMaxBytes) {
+        this.maxBytes = maxBytes.toBytes();
+        this.maxEntryBytes = Math.min(maxEntryBytes.toBytes(), this.maxBytes);
+        this.diskMaxBytes = diskMaxBytes.toBytes();
+        if (!diskDir.isBlank()) {
+            openDisk(Path.of(diskDir));
+        }
+    }
+
+    /**
+     * Returns the PDF cached for the student if it was rendered for this tag, else null.
+     */
+    public byte[] get(Long studentId, String tag) {
+        synchronized (memory) {
+            Entry entry = memory.get(studentId);
+            if (entry != null && entry.tag().equals(tag)) {
+                hits.incrementAndGet();
+                return entry.pdf();
+            }
+        }
+        byte[] pdf = readDisk(studentId, tag);
+        if (pdf != null) {
+            diskHits.incrementAndGet();
+            putMemory(studentId, new Entry(tag, pdf, pdf.length));
+            return pdf;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches what went through the capture, unless it outgrew the entry limit. Replaces any older version.
+     */
+    public void put(Long studentId, String tag, Capture capture) {
+        byte[] pdf = capture.bytes();
+        if (pdf == null) {
+            return;
+        }
+        putMemory(studentId, new Entry(tag, pdf, pdf.length));
+        writeDisk(studentId, tag, pdf);
+    }
+
+    /**
+     * Wraps the response stream so the PDF can be cached while it is streamed to the client.
+     */
+    public Capture capture(OutputStream out) {
+        return new Capture(out, maxEntryBytes);
+    }
+
+    public void recordNotModified() {
+        notModified.incrementAndGet();
+    }
+
+    private void putMemory(Long studentId, Entry entry) {
+        if (entry.size() > maxEntryBytes) {
+            return;
+        }
+        synchronized (memory) {
+            Entry previous = memory.put(studentId, entry);
+            memoryBytes += entry.size() - (previous == null ? 0 : previous.size());
+            Iterator<Entry> it = memory.values().iterator();
+            while (memoryBytes > maxBytes && it.hasNext()) {
+                memoryBytes -= it.next().size();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void openDisk(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                // Oldest first so the access order starts out as modification order
+                List<Path> sorted = files.sorted(Comparator.comparing(TranscriptCache::lastModified)).toList();
+                for (Path file : sorted) {
+                    Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        String name = file.getFileName().toString();
+                        Entry previous = disk.put(Long.valueOf(matcher.group(1)),
+                                new Entry(name.substring(0, name.length() - 4), null, Files.size(file)));
+                        if (previous != null) {
+                            Files.deleteIfExists(dir.resolve(previous.tag() + ".pdf"));
+                            diskBytes -= previous.size();
+                        }
+                        diskBytes += Files.size(file);
+                    }
+                }
+            }
+            this.diskDir = dir;
+            trimDisk();
+            log.info("Transcript disk cache in {}: {} files, {} bytes", dir, disk.size(), diskBytes);
+        } catch (IOException e) {
+            log.warn("Transcript disk cache disabled, {} is not usable: {}", dir, e.getMessage());
+        }
+    }
+
+    private byte[] readDisk(Long studentId, String tag) {
+        Path dir = diskDir;
+        if (dir == null) {
+            return null;
+        }
+        synchronized (disk) {
+            Entry entry = disk.get(studentId);
+            if (entry == null || !entry.tag().equals(tag)) {
+                return null;
+            }
+        }
+        try {
+            return Files.readAllBytes(dir.resolve(tag + ".pdf"));
+        } catch (IOException e) {
+            // Removed behind our back, the next render writes it again
+            synchronized (disk) {
+                Entry entry = disk.remove(studentId);
+                if (entry != null) {
+                    diskBytes -= entry.size();
+                }
+            }
+            return null;
+        }
+    }
+
+    private void writeDisk(Long studentId, String tag, byte[] pdf) {
+        Path dir = diskDir;
+        if (dir == null || pdf.length > diskMaxBytes) {
+            return;
+        }
+        try {
+            Path tmp = Files.createTempFile(dir, "transcript", ".tmp");
+            Files.write(tmp, pdf);
+            Files.move(tmp, dir.resolve(tag + ".pdf"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write transcript {} to the disk cache: {}", tag, e.getMessage());
+            return;
+        }
+        synchronized (disk) {
+            Entry previous = disk.put(studentId, new Entry(tag, null, pdf.length));
+            if (previous != null) {
+                diskBytes -= previous.size();
+                if (!previous.tag().equals(tag)) {
+                    deleteQuietly(dir.resolve(previous.tag() + ".pdf"));
+                }
+            }
+            diskBytes += pdf.length;
+            trimDisk();
+        }
+    }
+
+    private void trimDisk() {
+        synchronized (disk) {
+            Iterator<Entry> it = disk.values().iterator();
+            while (diskBytes > diskMaxBytes && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                diskBytes -= eldest.size();
+                deleteQuietly(diskDir.resolve(eldest.tag() + ".pdf"));
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    public long getBytes() {
+        synchronized (memory) {
+            return memoryBytes;
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getDiskSize() {
+        synchronized (disk) {
+            return disk.size();
+        }
+    }
+
+    public long getDiskBytes() {
+        synchronized (disk) {
+            return diskBytes;
+        }
+    }
+
+    public boolean isDiskEnabled() {
+        return diskDir != null;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    // pdf is null for disk entries, only the tag and size are kept in memory
+    private record Entry(String tag, byte[] pdf, long size) {
+    }
+
+    /**
+     * Passes everything through and keeps a copy, until the copy would exceed the entry limit.
+     */
+    public static class Capture extends OutputStream {
+
+        private final OutputStream out;
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream(16 * 1024);
+
+        Capture(OutputStream out, long limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        // Null when the PDF was too large to keep
+        byte[] bytes() {
+            return copy == null ? null : copy.toByteArray();
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.gestion.backend.reports;
+
+import java.util.List;
+
+/**
+ * Everything needed to render one transcript, detached from the persistence context so it can go to a worker thread.
+ */
+public record TranscriptJob(String fileName, String title, String matricule,
+        List<TranscriptPdfRenderer.Line> lines, double gpa) {
+}
@@ -0,0 +1,169 @@
+package com.gestion.backend.reports;
+
+import com.gestion.backend.exceptions.ReportGenerationException;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.property.TextAlignment;
+import com.itextpdf.layout.property.UnitValue;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes grade transcripts straight to the given stream. Font programs and cell styles are loaded once;
+ * the grade table is a large table flushed every few rows, so memory does not grow with the number of grades.
+ */
+@Component
+public class TranscriptPdfRenderer {
+
+    // Part of the transcript ETag: bump it when the layout changes so cached PDFs are rendered again
+    public static final int LAYOUT_VERSION = 1;
+
+    private static final int FLUSH_EVERY_ROWS = 50;
+    private static final float[] COLUMN_WIDTHS = { 200f, 100f };
+
+    private final FontProgram regular;
+    private final FontProgram bold;
+    private final Style headerCell = new Style()
+            .setBackgroundColor(ColorConstants.LIGHT_GRAY)
+            .setPadding(4);
+    private final Style valueCell = new Style()
+            .setTextAlignment(TextAlignment.RIGHT)
+            .setPadding(4);
+
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public TranscriptPdfRenderer() {
+        try {
+            this.regular = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+            this.bold = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One line of the grade table.
+     */
+    public record Line(String course, double value) {
+    }
+
+    /**
+     * Renders the transcript; the stream is flushed but not closed. Failures are reported as
+     * {@link ReportGenerationException}, possibly after part of the document was written.
+     */
+    public void render(String title, String matricule, Iterator<Line> lines, double gpa, OutputStream out) {
+        long start = System.nanoTime();
+        CountingOutputStream counting = new CountingOutputStream(out);
+        try {
+            PdfWriter writer = new PdfWriter(counting);
+            writer.setCloseStream(false);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf);
+            // PdfFont instances belong to one document, only the parsed font programs are shared
+            PdfFont regularFont = PdfFontFactory.createFont(regular, PdfEncodings.WINANSI);
+            PdfFont boldFont = PdfFontFactory.createFont(bold, PdfEncodings.WINANSI);
+            document.setFont(regularFont);
+
+            document.add(new Paragraph(title).setFont(boldFont).setFontSize(14));
+            document.add(new Paragraph("Matricule: " + matricule));
+
+            Table table = new Table(UnitValue.createPointArray(COLUMN_WIDTHS), true);
+            table.addHeaderCell(new Cell().add(new Paragraph("Cours").setFont(boldFont)).addStyle(headerCell));
+            table.addHeaderCell(new Cell().add(new Paragraph("Note").setFont(boldFont)).addStyle(headerCell));
+            document.add(table);
+            int rows = 0;
+            while (lines.hasNext()) {
+                Line line = lines.next();
+                table.addCell(new Cell().add(new Paragraph(line.course())).setPadding(4));
+                table.addCell(new Cell().add(new Paragraph(String.valueOf(line.value()))).addStyle(valueCell));
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    table.flush();
+                }
+            }
+            table.complete();
+
+            document.add(new Paragraph("Moyenne Générale: " + String.format("%.2f", gpa))
+                    .setFont(boldFont).setMarginTop(12));
+            document.close();
+            counting.flush();
+            rendered.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            throw new ReportGenerationException("Transcript rendering failed: " + e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalNanos.addAndGet(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+            bytesWritten.addAndGet(counting.count);
+        }
+    }
+
+    public long getRendered() {
+        return rendered.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public double getAverageMillis() {
+        long count = rendered.get() + failed.get();
+        return count == 0 ? 0.0 : totalNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        // The caller owns the underlying stream
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
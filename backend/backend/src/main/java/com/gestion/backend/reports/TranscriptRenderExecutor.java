@@ -0,0 +1,94 @@
+package com.gestion.backend.reports;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Core-sized pool for bulk transcript rendering. Each archive keeps at most {@code window} PDFs in flight
+ * (see {@link TranscriptZipWriter}); when several archives saturate the shared queue the submitting request
+ * renders the PDF itself, which slows it down instead of growing the queue.
+ */
+@Component
+public class TranscriptRenderExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final TranscriptPdfRenderer renderer;
+    private final int window;
+
+    private final AtomicLong archives = new AtomicLong();
+    private final AtomicLong transcripts = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    public TranscriptRenderExecutor(TranscriptPdfRenderer renderer,
+            @Value("${app.transcripts.bulk.threads:0}") int threads,
+            @Value("${app.transcripts.bulk.window-per-thread:2}") int windowPerThread,
+            @Value("${app.transcripts.bulk.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "transcript-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.renderer = renderer;
+        this.window = poolSize * Math.max(1, windowPerThread);
+    }
+
+    /**
+     * Renders every job into a ZIP written to the stream (not closed) and returns the number of transcripts.
+     */
+    public int writeZip(Iterator<TranscriptJob> jobs, OutputStream out) {
+        long start = System.nanoTime();
+        int written = new TranscriptZipWriter(renderer, executor, window).write(jobs, out);
+        archives.incrementAndGet();
+        transcripts.addAndGet(written);
+        totalNanos.addAndGet(System.nanoTime() - start);
+        return written;
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getArchives() {
+        return archives.get();
+    }
+
+    public long getTranscripts() {
+        return transcripts.get();
+    }
+
+    public double getTranscriptsPerSecond() {
+        long nanos = totalNanos.get();
+        return nanos == 0 ? 0.0 : transcripts.get() * 1e9 / nanos;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
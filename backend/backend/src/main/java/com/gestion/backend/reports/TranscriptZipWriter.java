@@ -0,0 +1,82 @@
+package com.gestion.backend.reports;
+
+import com.gestion.backend.exceptions.ReportGenerationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders transcripts on an executor and writes each one into a ZIP as soon as it is done (in completion order).
+ * At most {@code window} transcripts are pending at any time: jobs are only pulled from the iterator
+ * (and so from the database cursor behind it) when a finished PDF has been written out.
+ */
+public class TranscriptZipWriter {
+
+    private final TranscriptPdfRenderer renderer;
+    private final Executor executor;
+    private final int window;
+
+    public TranscriptZipWriter(TranscriptPdfRenderer renderer, Executor executor, int window) {
+        this.renderer = renderer;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Writes the archive and returns the number of transcripts in it. The stream is finished but not closed.
+     */
+    public int write(Iterator<TranscriptJob> jobs, OutputStream out) {
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Rendered>> pending = new ArrayList<>();
+        int written = 0;
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            while (jobs.hasNext() || !pending.isEmpty()) {
+                while (pending.size() < window && jobs.hasNext()) {
+                    TranscriptJob job = jobs.next();
+                    pending.add(completion.submit(() -> render(job)));
+                }
+                Future<Rendered> done = completion.take();
+                pending.remove(done);
+                Rendered rendered = done.get();
+                zip.putNextEntry(new ZipEntry(rendered.fileName()));
+                zip.write(rendered.pdf());
+                zip.closeEntry();
+                written++;
+            }
+            zip.finish();
+            zip.flush();
+            return written;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof ReportGenerationException r ? r
+                    : new ReportGenerationException("Transcript rendering failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("Transcript archive interrupted", e);
+        } catch (IOException e) {
+            throw new ReportGenerationException("Transcript archive could not be written: " + e.getMessage(), e);
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private Rendered render(TranscriptJob job) {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream(16 * 1024);
+        renderer.render(job.title(), job.matricule(), job.lines().iterator(), job.gpa(), pdf);
+        return new Rendered(job.fileName(), pdf.toByteArray());
+    }
+
+    private record Rendered(String fileName, byte[] pdf) {
+    }
+}
@@ -1,6 +1,11 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Course;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,9 +14,17 @@ import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    @Override
+    @EntityGraph("Course.withTrainerAndSpecialty")
+    List<Course> findAll();
+
+    @EntityGraph("Course.withTrainerAndSpecialty")
+    Window<Course> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Course> findByCode(String code);
 
     List<Course> findByTitleContainingIgnoreCase(String title);
 
+    @EntityGraph("Course.withTrainerAndSpecialty")
     List<Course> findByTrainerId(Long trainerId);
 }
@@ -0,0 +1,24 @@
+package com.gestion.backend.repositories;
+
+import com.gestion.backend.entities.CourseStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+    // Rows are locked in id order so concurrent grade writes cannot deadlock on them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CourseStats s where s.courseId in :ids order by s.courseId")
+    List<CourseStats> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CourseStats s order by s.courseId")
+    List<CourseStats> lockAll();
+}
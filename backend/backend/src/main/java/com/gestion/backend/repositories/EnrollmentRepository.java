@@ -1,17 +1,38 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Enrollment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    @EntityGraph("Enrollment.withStudentAndCourse")
     List<Enrollment> findByStudentId(Long studentId);
 
+    @EntityGraph("Enrollment.withStudentAndCourse")
+    Window<Enrollment> findByStudentId(Long studentId, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByStudentId(Long studentId);
+
+    @EntityGraph("Enrollment.withStudentAndCourse")
     List<Enrollment> findByCourseId(Long courseId);
 
     List<Enrollment> findByEnrollmentDate(LocalDate date);
+
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id IN :studentIds")
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId,
+            @Param("studentIds") Collection<Long> studentIds);
 }
@@ -1,16 +1,115 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Grade;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
+    @EntityGraph("Grade.withStudentAndCourse")
     List<Grade> findByStudentId(Long studentId);
 
+    @EntityGraph("Grade.withStudentAndCourse")
+    Window<Grade> findByStudentId(Long studentId, ScrollPosition position, Sort sort, Limit limit);
+
+    long countByStudentId(Long studentId);
+
+    @EntityGraph("Grade.withStudentAndCourse")
     List<Grade> findByCourseId(Long courseId);
 
     List<Grade> findByValueGreaterThanEqual(Double value);
+
+    List<Grade> findByCourseIdAndStudentIdIn(Long courseId, Collection<Long> studentIds);
+
+    // Aggregates are computed by the database; the standard deviation is derived from the sum of squares
+    String AGGREGATES = "count(g) as total, sum(g.value) as gradeSum, avg(g.value) as average, "
+            + "min(g.value) as minimum, max(g.value) as maximum, sum(g.value * g.value) as sumOfSquares, "
+            + "sum(case when g.value >= 10 then 1 else 0 end) as passed ";
+
+    @Query("select " + AGGREGATES + "from Grade g where g.course.id = :courseId")
+    GradeAggregateView aggregateByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select " + AGGREGATES + "from Grade g where g.student.id = :studentId")
+    GradeAggregateView aggregateByStudentId(@Param("studentId") Long studentId);
+
+    @Query("select g.course.id as id, " + AGGREGATES + "from Grade g group by g.course.id")
+    List<KeyedGradeAggregateView> aggregateByCourse();
+
+    @Query("select g.student.id as id, " + AGGREGATES + "from Grade g group by g.student.id")
+    List<KeyedGradeAggregateView> aggregateByStudent();
+
+    @Query("select g.student.id as id, " + AGGREGATES
+            + "from Grade g where g.student.id in :studentIds group by g.student.id")
+    List<KeyedGradeAggregateView> aggregateByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    // Transcript lines only, no entities: nothing accumulates in the persistence context
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    @Query("select g.course.title as courseTitle, g.value as value from Grade g "
+            + "where g.student.id = :studentId order by g.course.title")
+    Stream<TranscriptLineView> streamTranscriptLines(@Param("studentId") Long studentId);
+
+    // One row per grade (or one row with no course for a student without grades), grouped by student
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    @Query("select s.id as studentId, s.firstName as firstName, s.lastName as lastName, s.matricule as matricule, "
+            + "c.title as courseTitle, g.value as value from Student s left join Grade g on g.student = s "
+            + "left join g.course c where s.group.id = :groupId order by s.id, c.title")
+    Stream<CohortTranscriptRowView> streamTranscriptRowsByGroupId(@Param("groupId") Long groupId);
+
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    @Query("select s.id as studentId, s.firstName as firstName, s.lastName as lastName, s.matricule as matricule, "
+            + "c.title as courseTitle, g.value as value from Student s left join Grade g on g.student = s "
+            + "left join g.course c where s.group.specialty.id = :specialtyId order by s.id, c.title")
+    Stream<CohortTranscriptRowView> streamTranscriptRowsBySpecialtyId(@Param("specialtyId") Long specialtyId);
+
+    interface GradeAggregateView {
+        long getTotal();
+
+        Double getGradeSum();
+
+        Double getAverage();
+
+        Double getMinimum();
+
+        Double getMaximum();
+
+        Double getSumOfSquares();
+
+        Long getPassed();
+    }
+
+    interface TranscriptLineView {
+        String getCourseTitle();
+
+        Double getValue();
+    }
+
+    interface CohortTranscriptRowView extends TranscriptLineView {
+        Long getStudentId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getMatricule();
+    }
+
+    interface KeyedGradeAggregateView extends GradeAggregateView {
+        Long getId();
+    }
 }
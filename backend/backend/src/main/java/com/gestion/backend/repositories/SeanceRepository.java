@@ -1,16 +1,40 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Seance;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Repository
 public interface SeanceRepository extends JpaRepository<Seance, Long> {
+    @Override
+    @EntityGraph("Seance.withCourseAndGroup")
+    List<Seance> findAll();
+
+    @EntityGraph("Seance.withCourseAndGroup")
     List<Seance> findByGroupId(Long groupId);
 
+    @EntityGraph("Seance.withCourseAndGroup")
     List<Seance> findByCourseTrainerId(Long trainerId);
 
     List<Seance> findByDate(LocalDate date);
+
+    /**
+     * Seances on the given date overlapping [startTime, endTime] that share the group, the room or the trainer.
+     */
+    @Query("select s from Seance s join fetch s.course c left join fetch c.trainer t join fetch s.group g "
+            + "where s.date = :date and s.startTime <= :endTime and s.endTime >= :startTime "
+            + "and (g.id = :groupId or lower(s.room) = lower(:room) or (:trainerId is not null and t.id = :trainerId))")
+    List<Seance> findConflicting(@Param("date") LocalDate date, @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime, @Param("groupId") Long groupId, @Param("room") String room,
+            @Param("trainerId") Long trainerId);
+
+    @EntityGraph("Seance.withCourseAndGroup")
+    @Query("select s from Seance s where s.group.id = (select st.group.id from Student st where st.id = :studentId)")
+    List<Seance> findByStudentGroup(@Param("studentId") Long studentId);
 }
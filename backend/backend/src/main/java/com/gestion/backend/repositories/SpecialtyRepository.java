@@ -1,9 +1,21 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Specialty;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface SpecialtyRepository extends JpaRepository<Specialty, Long> {
+    // Reference list shown on the course and group forms, served from the query cache
+    @Override
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "reference.queries") })
+    List<Specialty> findAll();
 }
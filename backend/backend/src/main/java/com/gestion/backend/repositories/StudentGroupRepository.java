@@ -1,9 +1,23 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.StudentGroup;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface StudentGroupRepository extends JpaRepository<StudentGroup, Long> {
+    @Override
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "reference.queries") })
+    List<StudentGroup> findAll();
+
+    List<StudentGroup> findByNameIn(Collection<String> names);
 }
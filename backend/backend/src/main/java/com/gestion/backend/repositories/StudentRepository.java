@@ -1,17 +1,58 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    @Override
+    @EntityGraph("Student.withGroup")
+    List<Student> findAll();
+
+    // Keyset page: the position holds the sort keys of the last row seen
+    @EntityGraph("Student.withGroup")
+    Window<Student> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Student> findByEmail(String email);
 
     Optional<Student> findByMatricule(String matricule);
 
     List<Student> findByLastNameContainingIgnoreCase(String lastName);
+
+    List<Student> findByEmailIn(Collection<String> emails);
+
+    List<Student> findByMatriculeIn(Collection<String> matricules);
+
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT s.matricule FROM Student s WHERE s.matricule IN :matricules")
+    List<String> findExistingMatricules(@Param("matricules") Collection<String> matricules);
+
+    @Query("select s.firstName as firstName, s.lastName as lastName, s.matricule as matricule, "
+            + "st.gradeVersion as gradeVersion from Student s left join StudentStats st on st.studentId = s.id "
+            + "where s.id = :id")
+    Optional<TranscriptVersionView> findTranscriptVersion(@Param("id") Long id);
+
+    interface TranscriptVersionView {
+        String getFirstName();
+
+        String getLastName();
+
+        String getMatricule();
+
+        Long getGradeVersion();
+    }
 }
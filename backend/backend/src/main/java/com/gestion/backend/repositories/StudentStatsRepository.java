@@ -0,0 +1,30 @@
+package com.gestion.backend.repositories;
+
+import com.gestion.backend.entities.StudentStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentStatsRepository extends JpaRepository<StudentStats, Long> {
+    // Rows are locked in id order so concurrent grade writes cannot deadlock on them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StudentStats s where s.studentId in :ids order by s.studentId")
+    List<StudentStats> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StudentStats s order by s.studentId")
+    List<StudentStats> lockAll();
+
+    @Modifying
+    @Query("update StudentStats s set s.gradeVersion = s.gradeVersion + 1 "
+            + "where s.studentId in (select g.student.id from Grade g where g.course.id = :courseId)")
+    int bumpGradeVersionByCourseId(@Param("courseId") Long courseId);
+}
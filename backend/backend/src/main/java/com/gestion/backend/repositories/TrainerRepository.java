@@ -1,15 +1,35 @@
 package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.Trainer;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
+    // Trainer picker on the course form
+    @Override
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "reference.queries") })
+    List<Trainer> findAll();
+
+    Window<Trainer> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
     Optional<Trainer> findByEmail(String email);
 
     List<Trainer> findByNameContainingIgnoreCase(String name);
+
+    List<Trainer> findByEmailIn(Collection<String> emails);
 }
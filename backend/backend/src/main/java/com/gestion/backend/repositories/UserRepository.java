@@ -2,8 +2,42 @@ package com.gestion.backend.repositories;
 
 import com.gestion.backend.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    boolean existsByStudentId(Long studentId);
+
+    boolean existsByTrainerId(Long trainerId);
+
+    List<User> findByRoleAndStudentIdIsNull(User.Role role);
+
+    List<User> findByRoleAndTrainerIdIsNull(User.Role role);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.studentId from User u where u.studentId in :ids")
+    List<Long> findLinkedStudentIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.trainerId from User u where u.trainerId in :ids")
+    List<Long> findLinkedTrainerIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Query("select u.id as id, u.tokenVersion as tokenVersion from User u")
+    List<TokenVersionView> findAllTokenVersions();
+
+    interface TokenVersionView {
+        Long getId();
+
+        int getTokenVersion();
+    }
 }
@@ -0,0 +1,188 @@
+package com.gestion.backend.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie from normalized words to suggestions. Each suggestion is reachable from every word of its
+ * label and detail, so "dup" finds "Jean Dupont". Lookups walk down the prefix, then collect children in
+ * key order and stop after {@code limit} distinct suggestions: cost depends on the prefix and the limit,
+ * not on the number of entries.
+ */
+public class PrefixTrie {
+
+    private final Node root = new Node();
+    private final Map<Long, Indexed> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Nodes below the root, kept up to date on put and prune
+    private int nodes;
+
+    public void put(Suggestion suggestion) {
+        String[] words = words(suggestion);
+        lock.writeLock().lock();
+        try {
+            Indexed previous = entries.put(suggestion.id(), new Indexed(suggestion, words));
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String word : words) {
+                Node node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    Node child = node.children.get(word.charAt(i));
+                    if (child == null) {
+                        child = new Node();
+                        node.children.put(word.charAt(i), child);
+                        nodes++;
+                    }
+                    node = child;
+                }
+                node.suggestions.put(suggestion.id(), suggestion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = entries.remove(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.suggestions.clear();
+            entries.clear();
+            nodes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = TrigramIndex.normalize(prefix).trim();
+        // Only the last word is completed, earlier words narrow the results
+        String[] typed = key.split(" ");
+        String last = typed[typed.length - 1];
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < last.length() && node != null; i++) {
+                node = node.children.get(last.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Map<Long, Suggestion> found = new LinkedHashMap<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty() && found.size() < limit) {
+                Node current = stack.pop();
+                for (Suggestion suggestion : current.suggestions.values()) {
+                    if (found.size() < limit && matchesAll(suggestion.id(), typed)) {
+                        found.putIfAbsent(suggestion.id(), suggestion);
+                    }
+                }
+                // Push in reverse so children are visited in key order
+                current.children.descendingMap().values().forEach(stack::push);
+            }
+            return List.copyOf(found.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matchesAll(Long id, String[] typed) {
+        if (typed.length == 1) {
+            return true;
+        }
+        String[] words = entries.get(id).words;
+        for (int i = 0; i < typed.length - 1; i++) {
+            boolean matched = false;
+            for (String word : words) {
+                if (word.startsWith(typed[i])) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unlink(Indexed indexed) {
+        for (String word : indexed.words) {
+            Node node = root;
+            Deque<Node> path = new ArrayDeque<>();
+            for (int i = 0; i < word.length() && node != null; i++) {
+                path.push(node);
+                node = node.children.get(word.charAt(i));
+            }
+            if (node == null) {
+                continue;
+            }
+            node.suggestions.remove(indexed.suggestion.id());
+            // Prune branches left empty
+            for (int i = word.length() - 1; i >= 0 && node.isEmpty(); i--) {
+                Node parent = path.pop();
+                parent.children.remove(word.charAt(i));
+                nodes--;
+                node = parent;
+            }
+        }
+    }
+
+    private static String[] words(Suggestion suggestion) {
+        String detail = suggestion.detail() == null ? "" : suggestion.detail();
+        String text = TrigramIndex.normalize(suggestion.label() + " " + detail);
+        return Arrays.stream(text.split(" ")).filter(w -> !w.isEmpty()).distinct().toArray(String[]::new);
+    }
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final Map<Long, Suggestion> suggestions = new LinkedHashMap<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && suggestions.isEmpty();
+        }
+    }
+
+    private record Indexed(Suggestion suggestion, String[] words) {
+    }
+}
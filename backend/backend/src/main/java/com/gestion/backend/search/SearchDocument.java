@@ -0,0 +1,51 @@
+package com.gestion.backend.search;
+
+import com.gestion.backend.entities.Course;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.Trainer;
+
+/**
+ * What the index keeps about an entity: a label and detail to display, and the text that gets tokenized.
+ */
+public record SearchDocument(SearchType type, Long id, String label, String detail, String text) {
+
+    public static SearchDocument of(Student s) {
+        String name = s.getFirstName() + " " + s.getLastName();
+        return new SearchDocument(SearchType.STUDENT, s.getId(), name, s.getMatricule(),
+                join(name, s.getMatricule(), s.getEmail()));
+    }
+
+    public static SearchDocument of(Trainer t) {
+        return new SearchDocument(SearchType.TRAINER, t.getId(), t.getName(), t.getSpecialty(),
+                join(t.getName(), t.getEmail()));
+    }
+
+    public static SearchDocument of(Course c) {
+        return new SearchDocument(SearchType.COURSE, c.getId(), c.getTitle(), c.getCode(),
+                join(c.getTitle(), c.getCode(), c.getDescription()));
+    }
+
+    /**
+     * Document for a supported entity, or null for anything else.
+     */
+    public static SearchDocument from(Object entity) {
+        if (entity instanceof Student s) {
+            return of(s);
+        } else if (entity instanceof Trainer t) {
+            return of(t);
+        } else if (entity instanceof Course c) {
+            return of(c);
+        }
+        return null;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part != null) {
+                sb.append(part).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
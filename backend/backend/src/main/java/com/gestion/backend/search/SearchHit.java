@@ -0,0 +1,4 @@
+package com.gestion.backend.search;
+
+public record SearchHit(SearchType type, Long id, String label, String detail, double score) {
+}
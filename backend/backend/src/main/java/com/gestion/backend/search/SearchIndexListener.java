@@ -0,0 +1,57 @@
+package com.gestion.backend.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener keeping {@link TrigramIndex} and {@link TypeaheadIndex} in step with writes. Changes are applied after commit
+ * so a rolled-back transaction never shows up in search results.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final TrigramIndex index;
+    private final TypeaheadIndex typeahead;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        SearchDocument document = SearchDocument.from(entity);
+        afterCommit(() -> {
+            if (document != null) {
+                index.put(document);
+            }
+            typeahead.put(entity);
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        SearchDocument document = SearchDocument.from(entity);
+        afterCommit(() -> {
+            if (document != null) {
+                index.remove(document.type(), document.id());
+            }
+            typeahead.remove(entity);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
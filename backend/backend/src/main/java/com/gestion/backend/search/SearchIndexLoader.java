@@ -0,0 +1,67 @@
+package com.gestion.backend.search;
+
+import com.gestion.backend.datasource.ExportConnectionPool;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.repositories.CourseRepository;
+import com.gestion.backend.repositories.StudentGroupRepository;
+import com.gestion.backend.repositories.TrainerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link TrigramIndex} and {@link TypeaheadIndex} from the database at startup; {@link SearchIndexListener} takes over from there.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexLoader {
+
+    private final TrigramIndex index;
+    private final TypeaheadIndex typeahead;
+    private final TrainerRepository trainerRepository;
+    private final CourseRepository courseRepository;
+    private final StudentGroupRepository groupRepository;
+    private final ExportConnectionPool exportConnectionPool;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        index.clear();
+        typeahead.clear();
+        // The whole table, read through a cursor on the export pool
+        exportConnectionPool.inSession(session -> {
+            try (Stream<Student> students = session.createSelectionQuery("select s from Student s", Student.class)
+                    .setFetchSize(1000).stream()) {
+                int[] count = { 0 };
+                students.forEach(s -> {
+                    index.put(SearchDocument.of(s));
+                    typeahead.put(s);
+                    if (++count[0] % 1000 == 0) {
+                        session.clear();
+                    }
+                });
+            }
+            return null;
+        });
+        readOnly.executeWithoutResult(status -> {
+            trainerRepository.findAll().forEach(t -> index.put(SearchDocument.of(t)));
+            courseRepository.findAll().forEach(c -> {
+                index.put(SearchDocument.of(c));
+                typeahead.put(c);
+            });
+            groupRepository.findAll().forEach(typeahead::put);
+        });
+        log.info("Search index built with {} documents and {} trigrams in {} ms",
+                index.size(), index.trigramCount(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,5 @@
+package com.gestion.backend.search;
+
+public enum SearchType {
+    STUDENT, TRAINER, COURSE
+}
@@ -0,0 +1,4 @@
+package com.gestion.backend.search;
+
+public record Suggestion(Long id, String label, String detail) {
+}
@@ -0,0 +1,192 @@
+package com.gestion.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index over students, trainers and courses. Text is folded to lower-case
+ * ASCII (accents stripped), each word padded and cut into trigrams; a query matches the documents that
+ * share enough of its trigrams, so typos and partial words still hit.
+ * <p>
+ * Lookups only walk the rarest posting lists: a document sharing at least {@code m} of the {@code n}
+ * query trigrams must appear in one of the {@code n - m + 1} smallest lists.
+ */
+@Component
+public class TrigramIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9@.]+");
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Entry> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(SearchDocument document) {
+        long key = key(document.type(), document.id());
+        Entry entry = new Entry(document, normalize(document.text()), trigrams(document.text()));
+        lock.writeLock().lock();
+        try {
+            Entry previous = documents.put(key, entry);
+            if (previous != null) {
+                unlink(key, previous);
+            }
+            for (String trigram : entry.trigrams) {
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchType type, Long id) {
+        long key = key(type, id);
+        lock.writeLock().lock();
+        try {
+            Entry previous = documents.remove(key);
+            if (previous != null) {
+                unlink(key, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches for the query, best first. {@code type} may be null to search every type.
+     */
+    public List<SearchHit> search(String query, SearchType type, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        String normalizedQuery = normalize(query).trim();
+        int n = queryTrigrams.size();
+        int required = Math.max(1, (int) Math.ceil(n * MIN_SIMILARITY));
+
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> lists = new ArrayList<>(n);
+            for (String trigram : queryTrigrams) {
+                lists.add(postings.getOrDefault(trigram, Set.of()));
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> candidates = new HashSet<>();
+            for (int i = 0; i <= n - required; i++) {
+                candidates.addAll(lists.get(i));
+            }
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (Long key : candidates) {
+                Entry entry = documents.get(key);
+                if (type != null && entry.document.type() != type) {
+                    continue;
+                }
+                int shared = 0;
+                for (Set<Long> list : lists) {
+                    if (list.contains(key)) {
+                        shared++;
+                    }
+                }
+                if (shared < required) {
+                    continue;
+                }
+                // Dice coefficient, plus a bonus when the query appears as-is in the text
+                double score = 2.0 * shared / (n + Math.min(entry.trigrams.size(), 4 * n));
+                if (!normalizedQuery.isEmpty() && entry.normalized.contains(normalizedQuery)) {
+                    score += 1.0;
+                }
+                hits.add(new SearchHit(entry.document.type(), entry.document.id(), entry.document.label(),
+                        entry.document.detail(), score));
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(SearchHit::label, Comparator.nullsLast(Comparator.naturalOrder())));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALNUM.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : normalize(text).split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private void unlink(long key, Entry entry) {
+        for (String trigram : entry.trigrams) {
+            Set<Long> list = postings.get(trigram);
+            if (list != null) {
+                list.remove(key);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static long key(SearchType type, Long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    private record Entry(SearchDocument document, String normalized, Set<String> trigrams) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.gestion.backend.search;
+
+import com.gestion.backend.entities.Course;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.StudentGroup;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Prefix completion for the admin form pickers (students, courses, groups), one {@link PrefixTrie} each.
+ * Kept up to date by {@link SearchIndexListener} and filled at startup by {@link SearchIndexLoader}.
+ */
+@Component
+public class TypeaheadIndex {
+
+    public enum Kind {
+        STUDENTS, COURSES, GROUPS
+    }
+
+    private final PrefixTrie students = new PrefixTrie();
+    private final PrefixTrie courses = new PrefixTrie();
+    private final PrefixTrie groups = new PrefixTrie();
+
+    public List<Suggestion> complete(Kind kind, String prefix, int limit) {
+        return trie(kind).complete(prefix, limit);
+    }
+
+    public void put(Object entity) {
+        if (entity instanceof Student s) {
+            students.put(new Suggestion(s.getId(), s.getLastName() + " " + s.getFirstName(), s.getMatricule()));
+        } else if (entity instanceof Course c) {
+            courses.put(new Suggestion(c.getId(), c.getTitle(), c.getCode()));
+        } else if (entity instanceof StudentGroup g) {
+            groups.put(new Suggestion(g.getId(), g.getName(), null));
+        }
+    }
+
+    public void remove(Object entity) {
+        if (entity instanceof Student s) {
+            students.remove(s.getId());
+        } else if (entity instanceof Course c) {
+            courses.remove(c.getId());
+        } else if (entity instanceof StudentGroup g) {
+            groups.remove(g.getId());
+        }
+    }
+
+    public void clear() {
+        students.clear();
+        courses.clear();
+        groups.clear();
+    }
+
+    public int size(Kind kind) {
+        return trie(kind).size();
+    }
+
+    public int nodeCount(Kind kind) {
+        return trie(kind).nodeCount();
+    }
+
+    private PrefixTrie trie(Kind kind) {
+        return switch (kind) {
+            case STUDENTS -> students;
+            case COURSES -> courses;
+            case GROUPS -> groups;
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.gestion.backend.security;
+
+import com.gestion.backend.entities.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches {@link UserDetailsServiceImpl} lookups with a TTL and a size bound.
+ * Unknown usernames are cached too (for a shorter time) so repeated bad logins don't hit the database.
+ * Code writing a {@link User} must call {@link #evict(String)}.
+ */
+@Service
+@Primary
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsServiceImpl delegate;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingUserDetailsService(UserDetailsServiceImpl delegate,
+            @Value("${app.user-cache.max-size:5000}") int maxSize,
+            @Value("${app.user-cache.ttl:PT10M}") Duration ttl,
+            @Value("${app.user-cache.negative-ttl:PT1M}") Duration negativeTtl) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        String key = key(username);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            if (entry.user == null) {
+                negativeHits.incrementAndGet();
+                throw new UsernameNotFoundException("User not found: " + username);
+            }
+            hits.incrementAndGet();
+            return copy(entry.user);
+        }
+
+        misses.incrementAndGet();
+        UserDetails loaded;
+        try {
+            loaded = delegate.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            put(key, new Entry(null, now + negativeTtlMillis));
+            throw e;
+        }
+        put(key, new Entry(loaded, now + ttlMillis));
+        return copy(loaded);
+    }
+
+    public void evict(String username) {
+        if (username != null && entries.remove(key(username)) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long served = hits.get() + negativeHits.get();
+        long total = served + misses.get();
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+
+    // Usernames are unique whatever their case (MySQL collation), a login typed in another case must
+    // share the entry that writers evict
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private void put(String key, Entry entry) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            Iterator<String> it = entries.keySet().iterator();
+            while (entries.size() >= maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    // Callers get their own instance, the cached entity is never shared or mutated
+    private static UserDetails copy(UserDetails details) {
+        if (!(details instanceof User user)) {
+            return details;
+        }
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .studentId(user.getStudentId())
+                .trainerId(user.getTrainerId())
+                .tokenVersion(user.getTokenVersion())
+                .build();
+    }
+
+    private record Entry(UserDetails user, long expiresAt) {
+    }
+}
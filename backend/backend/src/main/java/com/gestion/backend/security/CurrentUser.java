@@ -0,0 +1,38 @@
+package com.gestion.backend.security;
+
+import com.gestion.backend.entities.Course;
+import com.gestion.backend.entities.Trainer;
+import com.gestion.backend.entities.User;
+import lombok.Value;
+
+/**
+ * Identity of the authenticated caller, resolved at most once per request by {@link CurrentUserContext}.
+ * Inject it as a controller method argument instead of looking the user up by username.
+ */
+@Value
+public class CurrentUser {
+    Long userId;
+    String username;
+    User.Role role;
+    Long studentId;
+    Long trainerId;
+
+    /**
+     * True when the course is assigned to this trainer, by linked trainer id or, for unlinked accounts, by email.
+     */
+    public boolean teaches(Course course) {
+        Trainer trainer = course.getTrainer();
+        return trainer != null && ((trainerId != null && trainer.getId().equals(trainerId))
+                || username.equals(trainer.getEmail()));
+    }
+
+    public static CurrentUser from(User user) {
+        return new CurrentUser(user.getId(), user.getUsername(), user.getRole(), user.getStudentId(),
+                user.getTrainerId());
+    }
+
+    public static CurrentUser from(JwtPrincipal principal) {
+        return new CurrentUser(principal.getUserId(), principal.getUsername(), User.Role.valueOf(principal.getRole()),
+                principal.getStudentId(), principal.getTrainerId());
+    }
+}
@@ -0,0 +1,48 @@
+package com.gestion.backend.security;
+
+import com.gestion.backend.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped holder of the {@link CurrentUser}.
+ * The principal set by the security layer (JWT claims or the session's User) is reused as is;
+ * the database is only queried for other principal types, and then only once per request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private final UserRepository userRepository;
+
+    private CurrentUser currentUser;
+
+    public CurrentUser get() {
+        if (currentUser == null) {
+            currentUser = resolve(SecurityContextHolder.getContext().getAuthentication());
+        }
+        return currentUser;
+    }
+
+    private CurrentUser resolve(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        Object principal = auth.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return CurrentUser.from(jwtPrincipal);
+        }
+        if (principal instanceof com.gestion.backend.entities.User user) {
+            return CurrentUser.from(user);
+        }
+        return userRepository.findByUsername(auth.getName())
+                .map(CurrentUser::from)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.gestion.backend.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a token whose signature has already been verified.
+ * Built once per token by {@link JwtUtil#parseToken(String)} so the filter never re-parses.
+ */
+@Value
+public class JwtClaims {
+    String username;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    // Identity claims, absent on tokens issued before they were embedded
+    Long userId;
+    String role;
+    Long studentId;
+    Long trainerId;
+    Integer tokenVersion;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public boolean hasIdentity() {
+        return userId != null && role != null && tokenVersion != null;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
 @Component
 @RequiredArgsConstructor
@@ -21,13 +22,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String username;
         final String jwt;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -37,13 +38,29 @@ public class JwtFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtUtil.extractUsername(jwt);
+            // Signature is verified at most once per token, repeat requests are served from the cache
+            JwtClaims claims = jwtUtil.parseToken(jwt);
+            String username = claims.getUsername();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authToken = null;
+                if (claims.hasIdentity()) {
+                    // Principal rebuilt from the claims, only the token version is checked (in memory)
+                    if (!claims.isExpired(Instant.now())
+                            && tokenVersionRegistry.isCurrent(claims.getUserId(), claims.getTokenVersion())) {
+                        JwtPrincipal principal = JwtPrincipal.from(claims);
+                        authToken = new UsernamePasswordAuthenticationToken(
+                                principal, null, principal.getAuthorities());
+                    }
+                } else {
+                    // Tokens issued before identity claims were embedded still need the user lookup
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                    if (jwtUtil.validateClaims(claims, userDetails)) {
+                        authToken = new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities());
+                    }
+                }
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -0,0 +1,39 @@
+package com.gestion.backend.security;
+
+import lombok.Value;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal rebuilt from the claims of a verified token, without loading the user from the database.
+ */
+@Value
+public class JwtPrincipal implements AuthenticatedPrincipal {
+    Long userId;
+    String username;
+    String role;
+    Long studentId;
+    Long trainerId;
+
+    public static JwtPrincipal from(JwtClaims claims) {
+        return new JwtPrincipal(
+                claims.getUserId(),
+                claims.getUsername(),
+                claims.getRole(),
+                claims.getStudentId(),
+                claims.getTrainerId());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
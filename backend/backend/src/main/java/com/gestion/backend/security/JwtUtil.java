@@ -1,26 +1,64 @@
 package com.gestion.backend.security;
 
+import com.gestion.backend.entities.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_STUDENT_ID = "sid";
+    private static final String CLAIM_TRAINER_ID = "tid";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+
     private final String SECRET_KEY = "your-very-secure-and-long-secret-key-for-jwt-authentication";
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // The parser is immutable and thread-safe, no need to rebuild it for every token
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    private final VerifiedTokenCache tokenCache;
+
+    /**
+     * Verifies the signature once and returns the claims, or serves them from the cache
+     * when the same token was already verified and has not expired yet.
+     */
+    public JwtClaims parseToken(String token) {
+        JwtClaims cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = extractAllClaims(token);
+        JwtClaims verified = new JwtClaims(
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.get(CLAIM_ROLE, String.class),
+                claims.get(CLAIM_STUDENT_ID, Long.class),
+                claims.get(CLAIM_TRAINER_ID, Long.class),
+                claims.get(CLAIM_TOKEN_VERSION, Integer.class));
+        tokenCache.put(token, verified);
+        return verified;
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).getUsername();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -29,13 +67,24 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * Embeds the identity needed by {@link JwtFilter} so authenticated requests don't reload the user.
+     */
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities());
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        if (user.getStudentId() != null) {
+            claims.put(CLAIM_STUDENT_ID, user.getStudentId());
+        }
+        if (user.getTrainerId() != null) {
+            claims.put(CLAIM_TRAINER_ID, user.getTrainerId());
+        }
+        return createToken(claims, user.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -49,11 +98,14 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(parseToken(token), userDetails);
+    }
+
+    public boolean validateClaims(JwtClaims claims, UserDetails userDetails) {
+        return claims.getUsername().equals(userDetails.getUsername()) && !claims.isExpired(Instant.now());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
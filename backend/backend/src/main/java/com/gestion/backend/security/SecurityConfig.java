@@ -37,12 +37,17 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/login", "/register", "/css/**", "/js/**").permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/metrics/**").hasRole("ADMIN")
                         .requestMatchers("/formateur/**").hasRole("TRAINER")
 
                         // STUDENT/TRAINER/ADMIN: View student profiles
                         .requestMatchers(HttpMethod.GET, "/api/students/**").hasAnyRole("ADMIN", "TRAINER", "STUDENT")
                         .requestMatchers("/api/students/**").hasRole("ADMIN")
                         .requestMatchers("/api/trainers/**").hasRole("ADMIN")
+                        .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        .requestMatchers("/api/exports/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/search/**").hasAnyRole("ADMIN", "TRAINER")
+                        .requestMatchers(HttpMethod.GET, "/api/typeahead/**").hasAnyRole("ADMIN", "TRAINER")
 
                         // STUDENT: View own grades, enrollments, reports, and schedule
                         .requestMatchers(HttpMethod.GET, "/api/grades/student/**")
@@ -108,6 +113,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(java.util.List.of("http://localhost:4200"));
         configuration.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(java.util.List.of("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setExposedHeaders(java.util.List.of("Retry-After", "ETag"));
         configuration.setAllowCredentials(true);
         org.springframework.web.cors.UrlBasedCorsConfigurationSource source = new org.springframework.web.cors.UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
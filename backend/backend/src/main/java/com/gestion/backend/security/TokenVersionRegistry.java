@@ -0,0 +1,69 @@
+package com.gestion.backend.security;
+
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of users.token_version, used to reject tokens issued before a password change.
+ * Refreshed periodically from the database so changes made by other instances are picked up too.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    private volatile Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            // User created after the last refresh (or deleted): one lookup, then remembered
+            current = userRepository.findTokenVersionById(userId).orElse(null);
+            if (current == null) {
+                return false;
+            }
+            versions.put(userId, current);
+        }
+        return tokenVersion >= current;
+    }
+
+    /**
+     * Increments the version on the entity; tokens carrying an older version are rejected once saved.
+     */
+    public void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+    }
+
+    public void update(User user) {
+        if (user.getId() != null) {
+            versions.put(user.getId(), user.getTokenVersion());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.token-version-refresh-ms:60000}", initialDelayString = "${app.jwt.token-version-refresh-ms:60000}")
+    public void refresh() {
+        Map<Long, Integer> previous = versions;
+        Map<Long, Integer> fresh = new ConcurrentHashMap<>();
+        // Versions only ever grow; keep a local bump that the snapshot may not have seen yet
+        userRepository.findAllTokenVersions().forEach(v -> fresh.put(v.getId(),
+                Math.max(v.getTokenVersion(), previous.getOrDefault(v.getId(), 0))));
+        versions = fresh;
+        log.debug("Token versions refreshed for {} users", fresh.size());
+    }
+
+    public int size() {
+        return versions.size();
+    }
+}
@@ -1,6 +1,10 @@
 package com.gestion.backend.services;
 
 import com.gestion.backend.entities.Enrollment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import java.util.List;
 
 public interface EnrollmentService {
@@ -10,7 +14,9 @@ public interface EnrollmentService {
 
     List<Enrollment> getStudentEnrollments(Long studentId);
 
-    List<Enrollment> getEnrollmentsByUsername(String username);
+    Window<Enrollment> getStudentEnrollments(Long studentId, ScrollPosition position, Sort sort, Limit limit);
+
+    long countStudentEnrollments(Long studentId);
 
     List<Enrollment> getCourseEnrollments(Long courseId);
 
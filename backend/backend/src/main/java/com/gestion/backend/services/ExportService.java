@@ -0,0 +1,19 @@
+package com.gestion.backend.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    enum Format {
+        NDJSON, CSV
+    }
+
+    /**
+     * Writes every row of the dataset to {@code out} as it is read. Returns the number of rows written.
+     */
+    long exportStudents(OutputStream out, Format format) throws IOException;
+
+    long exportEnrollments(OutputStream out, Format format) throws IOException;
+
+    long exportGrades(OutputStream out, Format format) throws IOException;
+}
@@ -1,6 +1,12 @@
 package com.gestion.backend.services;
 
+import com.gestion.backend.dtos.GradeSheetRequest;
+import com.gestion.backend.dtos.GradeSheetResult;
 import com.gestion.backend.entities.Grade;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import java.util.List;
 
 public interface GradeService {
@@ -8,8 +14,19 @@ public interface GradeService {
 
     Grade updateGrade(Long gradeId, Double newValue);
 
+    /**
+     * Creates or updates the grades of a whole course in one transaction. Students not enrolled in the
+     * course and out-of-range values are rejected individually, the rest of the sheet is still saved.
+     * Grades equal to the stored value are reported as unchanged and not written.
+     */
+    GradeSheetResult submitGradeSheet(Long courseId, List<GradeSheetRequest.Entry> entries);
+
     List<Grade> getStudentGrades(Long studentId);
 
+    Window<Grade> getStudentGrades(Long studentId, ScrollPosition position, Sort sort, Limit limit);
+
+    long countStudentGrades(Long studentId);
+
     List<Grade> getCourseGrades(Long courseId);
 
     List<Grade> getAllGrades();
@@ -0,0 +1,58 @@
+package com.gestion.backend.services;
+
+import com.gestion.backend.dtos.StatsReconciliationReport;
+import com.gestion.backend.entities.CourseStats;
+import com.gestion.backend.entities.StudentStats;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Maintains student_stats and course_stats. Every write to grades must report its changes here,
+ * in the same transaction.
+ */
+public interface GradeStatsService {
+
+    void apply(Collection<GradeChange> changes);
+
+    /**
+     * Called once the student and its grades are deleted (and flushed): updates the course totals, drops the student's.
+     */
+    void forgetStudent(Long studentId, Collection<GradeChange> removedGrades);
+
+    void forgetCourse(Long courseId, Collection<GradeChange> removedGrades);
+
+    /**
+     * Bumps the grade version of every student graded in the course, whose transcripts show its title.
+     */
+    void courseRenamed(Long courseId);
+
+    Optional<StudentStats> getStudentStats(Long studentId);
+
+    Optional<CourseStats> getCourseStats(Long courseId);
+
+    /**
+     * Rebuilds both tables from grades and reports how many rows were wrong.
+     */
+    StatsReconciliationReport reconcile();
+
+    StatsReconciliationReport getLastReconciliation();
+
+    /**
+     * One grade written: oldValue is null for a new grade, newValue is null for a deleted one.
+     */
+    record GradeChange(Long studentId, Long courseId, Double oldValue, Double newValue) {
+
+        public static GradeChange added(Long studentId, Long courseId, double value) {
+            return new GradeChange(studentId, courseId, null, value);
+        }
+
+        public static GradeChange changed(Long studentId, Long courseId, double oldValue, double newValue) {
+            return new GradeChange(studentId, courseId, oldValue, newValue);
+        }
+
+        public static GradeChange removed(Long studentId, Long courseId, double value) {
+            return new GradeChange(studentId, courseId, value, null);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.gestion.backend.services;
+
+import com.gestion.backend.entities.User;
+
+public interface IdentityLinkService {
+    /**
+     * Links every STUDENT/TRAINER user that has no studentId/trainerId yet, using set-based lookups.
+     * Returns the number of users linked.
+     */
+    int backfill();
+
+    /**
+     * Fallback for a user that logs in while still unlinked. Expected to stay at zero after the backfill.
+     */
+    User linkOnLogin(User user);
+
+    long getLoginLinkAttempts();
+
+    long getLoginLinkSuccesses();
+
+    int getLastBackfillCount();
+}
@@ -11,7 +11,7 @@ public interface PlanningService {
 
     List<Seance> getSeancesByTrainer(Long trainerId);
 
-    List<Seance> getSeancesByStudent(String username);
+    List<Seance> getSeancesByStudent(Long studentId);
 
     void deleteSeance(Long id);
 
@@ -0,0 +1,46 @@
+package com.gestion.backend.services;
+
+import com.gestion.backend.dtos.ReportJobStatus;
+
+import java.nio.file.Path;
+
+/**
+ * Runs heavy reports on a dedicated bounded pool instead of servlet threads. Results are written to local disk
+ * and kept for a limited time; submitting the same report while one is pending (or recently done) returns that job.
+ */
+public interface ReportJobService {
+    enum Type {
+        GROUP_TRANSCRIPTS, SPECIALTY_TRANSCRIPTS, COURSE_STATS
+    }
+
+    enum State {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    /**
+     * The parameter is the group or specialty id, and is ignored for COURSE_STATS.
+     * Throws ServiceBusyException when the queue is full.
+     */
+    ReportJobStatus submit(Type type, Long parameter);
+
+    ReportJobStatus getStatus(String jobId);
+
+    /**
+     * Throws ReportNotReadyException until the job is DONE.
+     */
+    Result getResult(String jobId);
+
+    /**
+     * Drops finished jobs older than the TTL along with their files. Returns the number removed.
+     */
+    int removeExpired();
+
+    Metrics getMetrics();
+
+    record Result(Path file, String fileName, String contentType) {
+    }
+
+    record Metrics(int queued, int running, long completed, long failed, long deduplicated, long rejected,
+            long expired, double averageQueueMillis, double averageRunMillis, double maxRunMillis) {
+    }
+}
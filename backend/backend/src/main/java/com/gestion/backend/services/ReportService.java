@@ -1,13 +1,48 @@
 package com.gestion.backend.services;
 
-import com.gestion.backend.entities.Grade;
+import com.gestion.backend.dtos.GradeStats;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
-import java.io.ByteArrayInputStream;
+import java.util.Map;
 
 public interface ReportService {
     double calculateStudentGpa(Long studentId);
 
     double calculateCourseSuccessRate(Long courseId);
 
-    ByteArrayInputStream generateGradesPdf(Long studentId);
+    /**
+     * GPA per student id, one query for the whole list. Students without grades map to 0.
+     */
+    Map<Long, Double> calculateStudentGpas(Collection<Long> studentIds);
+
+    /**
+     * Success rate (percent of grades >= 10) of every course that has grades.
+     */
+    Map<Long, Double> calculateCourseSuccessRates();
+
+    GradeStats getCourseStats(Long courseId);
+
+    GradeStats getStudentStats(Long studentId);
+
+    List<GradeStats> getAllCourseStats();
+
+    /**
+     * Identifies the current content of the student's transcript: it changes with the grade version
+     * (see StudentStats) and with the student's name and matricule. Throws when the student does not exist.
+     */
+    String getTranscriptTag(Long studentId);
+
+    /**
+     * Writes the student's transcript PDF to the stream as it is rendered (the stream is not closed).
+     */
+    void writeGradesPdf(Long studentId, OutputStream out);
+
+    /**
+     * Writes a ZIP with one transcript PDF per student of the group (the stream is not closed).
+     * Returns the number of transcripts written.
+     */
+    int writeGroupTranscriptsZip(Long groupId, OutputStream out);
+
+    int writeSpecialtyTranscriptsZip(Long specialtyId, OutputStream out);
 }
@@ -0,0 +1,13 @@
+package com.gestion.backend.services;
+
+import com.gestion.backend.dtos.ImportReport;
+
+import java.io.InputStream;
+
+public interface StudentImportService {
+    /**
+     * Imports students from a CSV with a header row (matricule, firstname, lastname, email, group,
+     * registrationdate). Only failed rows are listed in the report, created rows are counted.
+     */
+    ImportReport importCsv(InputStream in);
+}
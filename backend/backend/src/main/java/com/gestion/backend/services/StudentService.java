@@ -1,6 +1,10 @@
 package com.gestion.backend.services;
 
 import com.gestion.backend.entities.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,10 @@ public interface StudentService {
 
     List<Student> findAll();
 
+    Window<Student> findPage(ScrollPosition position, Sort sort, Limit limit);
+
+    long count();
+
     Optional<Student> findByEmail(String email);
 
     Optional<Student> findByMatricule(String matricule);
@@ -1,6 +1,10 @@
 package com.gestion.backend.services;
 
 import com.gestion.backend.entities.Trainer;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +19,9 @@ public interface TrainerService {
 
     List<Trainer> findAll();
 
+    Window<Trainer> findPage(ScrollPosition position, Sort sort, Limit limit);
+
+    long count();
+
     Optional<Trainer> findByEmail(String email);
 }
@@ -0,0 +1,17 @@
+package com.gestion.backend.services;
+
+import com.gestion.backend.dtos.ImportReport;
+
+import java.io.InputStream;
+
+public interface UserProvisioningService {
+    /**
+     * CSV with a header row: username,password,firstName,lastName,email,role
+     */
+    ImportReport provisionCsv(InputStream in);
+
+    /**
+     * One RegisterRequest JSON object per line.
+     */
+    ImportReport provisionNdjson(InputStream in);
+}
@@ -1,13 +1,21 @@
 package com.gestion.backend.services.impl;
 
 import com.gestion.backend.entities.Course;
+import com.gestion.backend.repositories.GradeRepository;
 import com.gestion.backend.repositories.CourseRepository;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.GradeStatsService.GradeChange;
 import com.gestion.backend.services.CourseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -16,6 +24,8 @@ import java.util.Optional;
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
+    private final GradeRepository gradeRepository;
+    private final GradeStatsService gradeStatsService;
 
     @Override
     public Course save(Course course) {
@@ -33,6 +43,9 @@ public class CourseServiceImpl implements CourseService {
     public Course update(Long id, Course course) {
         Course existing = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (!Objects.equals(existing.getTitle(), course.getTitle())) {
+            gradeStatsService.courseRenamed(id);
+        }
         existing.setTitle(course.getTitle());
         existing.setCode(course.getCode());
         existing.setDescription(course.getDescription());
@@ -43,7 +56,13 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public void delete(Long id) {
+        // Grades go with the course (cascade), their values are taken out of the statistics afterwards
+        List<GradeChange> removed = gradeRepository.findByCourseId(id).stream()
+                .map(g -> GradeChange.removed(g.getStudent().getId(), g.getCourse().getId(), g.getValue()))
+                .toList();
         courseRepository.deleteById(id);
+        courseRepository.flush();
+        gradeStatsService.forgetCourse(id, removed);
     }
 
     @Override
@@ -58,6 +77,18 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Course> findPage(ScrollPosition position, Sort sort, Limit limit) {
+        return courseRepository.findAllBy(position, sort, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return courseRepository.count();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Course> findByCode(String code) {
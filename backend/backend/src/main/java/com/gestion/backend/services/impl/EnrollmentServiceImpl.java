@@ -6,9 +6,12 @@ import com.gestion.backend.entities.Student;
 import com.gestion.backend.repositories.CourseRepository;
 import com.gestion.backend.repositories.EnrollmentRepository;
 import com.gestion.backend.repositories.StudentRepository;
-import com.gestion.backend.repositories.UserRepository;
 import com.gestion.backend.services.EnrollmentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +26,6 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         private final EnrollmentRepository enrollmentRepository;
         private final StudentRepository studentRepository;
         private final CourseRepository courseRepository;
-        private final UserRepository userRepository;
         private final com.gestion.backend.services.EmailService emailService;
 
         @Override
@@ -33,11 +35,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 Course course = courseRepository.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
-                // Validate no duplicate enrollment
-                boolean alreadyEnrolled = enrollmentRepository.findByStudentId(studentId).stream()
-                                .anyMatch(e -> e.getCourse().getId().equals(courseId));
-
-                if (alreadyEnrolled) {
+                // Validate no duplicate enrollment (uk_enrollments_student_course backs this up)
+                if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
                         throw new RuntimeException("Student is already enrolled in this course");
                 }
 
@@ -89,15 +88,15 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
         @Override
         @Transactional(readOnly = true)
-        public List<Enrollment> getEnrollmentsByUsername(String username) {
-                com.gestion.backend.entities.User user = userRepository.findByUsername(username)
-                                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-
-                if (user.getStudentId() == null) {
-                        return java.util.Collections.emptyList();
-                }
+        public Window<Enrollment> getStudentEnrollments(Long studentId, ScrollPosition position, Sort sort,
+                        Limit limit) {
+                return enrollmentRepository.findByStudentId(studentId, position, sort, limit);
+        }
 
-                return enrollmentRepository.findByStudentId(user.getStudentId());
+        @Override
+        @Transactional(readOnly = true)
+        public long countStudentEnrollments(Long studentId) {
+                return enrollmentRepository.countByStudentId(studentId);
         }
 
         @Override
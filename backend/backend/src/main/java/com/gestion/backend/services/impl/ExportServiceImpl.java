@@ -0,0 +1,178 @@
+package com.gestion.backend.services.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gestion.backend.datasource.ExportConnectionPool;
+import com.gestion.backend.entities.Enrollment;
+import com.gestion.backend.entities.Grade;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.services.ExportService;
+import com.opencsv.CSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out without building a list: rows come from a server-side cursor on the
+ * {@link ExportConnectionPool}, {@value #FETCH_SIZE} at a time, are written immediately, and the session is
+ * cleared every {@value #FETCH_SIZE} rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String[] STUDENT_COLUMNS = { "id", "matricule", "firstName", "lastName", "email",
+            "registrationDate", "groupId", "groupName" };
+    private static final String[] ENROLLMENT_COLUMNS = { "id", "studentId", "matricule", "courseId", "courseCode",
+            "enrollmentDate" };
+    private static final String[] GRADE_COLUMNS = { "id", "studentId", "matricule", "courseId", "courseCode",
+            "value" };
+
+    private final ExportConnectionPool exportConnectionPool;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportStudents(OutputStream out, Format format) throws IOException {
+        return export("students", out, format, STUDENT_COLUMNS, Student.class,
+                "select s from Student s left join fetch s.group order by s.id",
+                (Student s) -> new Object[] { s.getId(), s.getMatricule(), s.getFirstName(), s.getLastName(),
+                        s.getEmail(), s.getRegistrationDate(),
+                        s.getGroup() != null ? s.getGroup().getId() : null,
+                        s.getGroup() != null ? s.getGroup().getName() : null });
+    }
+
+    @Override
+    public long exportEnrollments(OutputStream out, Format format) throws IOException {
+        return export("enrollments", out, format, ENROLLMENT_COLUMNS, Enrollment.class,
+                "select e from Enrollment e join fetch e.student join fetch e.course order by e.id",
+                (Enrollment e) -> new Object[] { e.getId(), e.getStudent().getId(), e.getStudent().getMatricule(),
+                        e.getCourse().getId(), e.getCourse().getCode(), e.getEnrollmentDate() });
+    }
+
+    @Override
+    public long exportGrades(OutputStream out, Format format) throws IOException {
+        return export("grades", out, format, GRADE_COLUMNS, Grade.class,
+                "select g from Grade g join fetch g.student join fetch g.course order by g.id",
+                (Grade g) -> new Object[] { g.getId(), g.getStudent().getId(), g.getStudent().getMatricule(),
+                        g.getCourse().getId(), g.getCourse().getCode(), g.getValue() });
+    }
+
+    private <T> long export(String name, OutputStream out, Format format, String[] columns,
+            Class<T> type, String query, Function<T, Object[]> values) throws IOException {
+        long start = System.currentTimeMillis();
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out, columns) : new NdjsonRowWriter(out, columns);
+        try {
+            // Runs on the async request thread, outside open-in-view, with a session of its own
+            Long rows = exportConnectionPool.inSession(session -> {
+                long count = 0;
+                try (Stream<T> stream = session.createSelectionQuery(query, type).setFetchSize(FETCH_SIZE).stream()) {
+                    for (T row : (Iterable<T>) stream::iterator) {
+                        writer.write(values.apply(row));
+                        if (++count % FETCH_SIZE == 0) {
+                            session.clear();
+                            writer.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            writer.finish();
+            log.info("Exported {} {} as {} in {} ms", rows, name, format, System.currentTimeMillis() - start);
+            return rows;
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; nothing left to write to
+            log.warn("Export of {} aborted: {}", name, e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final CSVWriter csv;
+        private final String[] line;
+
+        private CsvRowWriter(OutputStream out, String[] columns) {
+            this.csv = new CSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.line = new String[columns.length];
+            csv.writeNext(columns);
+        }
+
+        @Override
+        public void write(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                line[i] = values[i] == null ? "" : values[i].toString();
+            }
+            csv.writeNext(line);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            csv.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            csv.flush();
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator json;
+        private final ObjectWriter valueWriter;
+        private final String[] columns;
+
+        private NdjsonRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            this.json.setRootValueSeparator(null);
+            // Values go into the generator buffer, flushing is left to the periodic flush()
+            this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            json.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                json.writeFieldName(columns[i]);
+                // Dates and numbers through the mapper so they match the REST representation
+                valueWriter.writeValue(json, values[i]);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
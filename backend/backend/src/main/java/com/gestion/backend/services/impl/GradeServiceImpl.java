@@ -1,17 +1,33 @@
 package com.gestion.backend.services.impl;
 
+import com.gestion.backend.dtos.GradeSheetRequest;
+import com.gestion.backend.dtos.GradeSheetResult;
 import com.gestion.backend.entities.Course;
 import com.gestion.backend.entities.Grade;
 import com.gestion.backend.entities.Student;
 import com.gestion.backend.repositories.CourseRepository;
+import com.gestion.backend.repositories.EnrollmentRepository;
 import com.gestion.backend.repositories.GradeRepository;
 import com.gestion.backend.repositories.StudentRepository;
 import com.gestion.backend.services.GradeService;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.GradeStatsService.GradeChange;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +37,8 @@ public class GradeServiceImpl implements GradeService {
     private final GradeRepository gradeRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeStatsService gradeStatsService;
 
     @Override
     public Grade assignGrade(Long studentId, Long courseId, Double value) {
@@ -37,7 +55,9 @@ public class GradeServiceImpl implements GradeService {
                 .value(value)
                 .build();
 
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        gradeStatsService.apply(List.of(GradeChange.added(studentId, courseId, value)));
+        return saved;
     }
 
     @Override
@@ -46,8 +66,68 @@ public class GradeServiceImpl implements GradeService {
 
         Grade grade = gradeRepository.findById(gradeId)
                 .orElseThrow(() -> new RuntimeException("Grade not found"));
+        double oldValue = grade.getValue();
         grade.setValue(newValue);
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        gradeStatsService.apply(List.of(GradeChange.changed(
+                grade.getStudent().getId(), grade.getCourse().getId(), oldValue, newValue)));
+        return saved;
+    }
+
+    @Override
+    public GradeSheetResult submitGradeSheet(Long courseId, List<GradeSheetRequest.Entry> entries) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        GradeSheetResult result = new GradeSheetResult(courseId);
+
+        // Range and duplicates checked in one pass before any lookup
+        Map<Long, Double> values = new LinkedHashMap<>();
+        for (GradeSheetRequest.Entry entry : entries) {
+            if (entry.getValue() == null || entry.getValue() < 0 || entry.getValue() > 20) {
+                result.add(entry.getStudentId(), entry.getValue(), GradeSheetResult.Status.REJECTED,
+                        "Grade must be between 0 and 20");
+            } else if (values.putIfAbsent(entry.getStudentId(), entry.getValue()) != null) {
+                result.add(entry.getStudentId(), entry.getValue(), GradeSheetResult.Status.REJECTED,
+                        "Duplicate student in sheet");
+            }
+        }
+        if (values.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> enrolled = new HashSet<>(enrollmentRepository.findEnrolledStudentIds(courseId, values.keySet()));
+        Map<Long, Grade> existing = gradeRepository.findByCourseIdAndStudentIdIn(courseId, enrolled).stream()
+                .collect(Collectors.toMap(g -> g.getStudent().getId(), Function.identity(), (a, b) -> a));
+
+        List<Grade> created = new ArrayList<>();
+        List<GradeChange> changes = new ArrayList<>();
+        values.forEach((studentId, value) -> {
+            if (!enrolled.contains(studentId)) {
+                result.add(studentId, value, GradeSheetResult.Status.REJECTED, "Student not enrolled in this course");
+                return;
+            }
+            Grade grade = existing.get(studentId);
+            if (grade != null && grade.getValue().equals(value)) {
+                // Resubmitted sheets repeat most grades, leave those rows, the stats and transcripts alone
+                result.add(studentId, value, GradeSheetResult.Status.UNCHANGED, null);
+            } else if (grade != null) {
+                // Managed entity, flushed with the other updates at commit
+                changes.add(GradeChange.changed(studentId, courseId, grade.getValue(), value));
+                grade.setValue(value);
+                result.add(studentId, value, GradeSheetResult.Status.UPDATED, null);
+            } else {
+                created.add(Grade.builder()
+                        .student(studentRepository.getReferenceById(studentId))
+                        .course(course)
+                        .value(value)
+                        .build());
+                changes.add(GradeChange.added(studentId, courseId, value));
+                result.add(studentId, value, GradeSheetResult.Status.CREATED, null);
+            }
+        });
+        gradeRepository.saveAll(created);
+        gradeStatsService.apply(changes);
+        return result;
     }
 
     @Override
@@ -56,6 +136,18 @@ public class GradeServiceImpl implements GradeService {
         return gradeRepository.findByStudentId(studentId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Grade> getStudentGrades(Long studentId, ScrollPosition position, Sort sort, Limit limit) {
+        return gradeRepository.findByStudentId(studentId, position, sort, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countStudentGrades(Long studentId) {
+        return gradeRepository.countByStudentId(studentId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Grade> getCourseGrades(Long courseId) {
@@ -0,0 +1,264 @@
+package com.gestion.backend.services.impl;
+
+import com.gestion.backend.dtos.StatsReconciliationReport;
+import com.gestion.backend.entities.CourseStats;
+import com.gestion.backend.entities.GradeTotals;
+import com.gestion.backend.entities.StudentStats;
+import com.gestion.backend.repositories.CourseStatsRepository;
+import com.gestion.backend.repositories.GradeRepository;
+import com.gestion.backend.repositories.GradeRepository.GradeAggregateView;
+import com.gestion.backend.repositories.GradeRepository.KeyedGradeAggregateView;
+import com.gestion.backend.repositories.StudentStatsRepository;
+import com.gestion.backend.services.GradeStatsService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class GradeStatsServiceImpl implements GradeStatsService {
+
+    private final StudentStatsRepository studentStatsRepository;
+    private final CourseStatsRepository courseStatsRepository;
+    private final GradeRepository gradeRepository;
+    private final EntityManager entityManager;
+
+    private volatile StatsReconciliationReport lastReconciliation;
+
+    @Override
+    public void apply(Collection<GradeChange> changes) {
+        apply(changes, true, true);
+    }
+
+    @Override
+    public void forgetStudent(Long studentId, Collection<GradeChange> removedGrades) {
+        apply(removedGrades, true, false);
+        studentStatsRepository.deleteById(studentId);
+    }
+
+    @Override
+    public void forgetCourse(Long courseId, Collection<GradeChange> removedGrades) {
+        apply(removedGrades, false, true);
+        courseStatsRepository.deleteById(courseId);
+    }
+
+    @Override
+    public void courseRenamed(Long courseId) {
+        studentStatsRepository.bumpGradeVersionByCourseId(courseId);
+    }
+
+    private void apply(Collection<GradeChange> changes, boolean updateCourses, boolean updateStudents) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Courses first, then students, each in id order: every writer takes the locks in the same order
+        Set<Long> courseIds = new TreeSet<>();
+        Set<Long> studentIds = new TreeSet<>();
+        changes.forEach(c -> {
+            if (updateCourses) {
+                courseIds.add(c.courseId());
+            }
+            if (updateStudents) {
+                studentIds.add(c.studentId());
+            }
+        });
+        Map<Long, CourseStats> courses = lock(courseIds, courseStatsRepository::lockAllById,
+                CourseStats::getCourseId, CourseStats.class, "course_stats", "course_id");
+        Map<Long, StudentStats> students = lock(studentIds, studentStatsRepository::lockAllById,
+                StudentStats::getStudentId, StudentStats.class, "student_stats", "student_id");
+
+        Set<Long> staleCourses = new HashSet<>();
+        Set<Long> staleStudents = new HashSet<>();
+        for (GradeChange change : changes) {
+            if (updateCourses && apply(courses.get(change.courseId()), change)) {
+                staleCourses.add(change.courseId());
+            }
+            if (updateStudents && apply(students.get(change.studentId()), change)) {
+                staleStudents.add(change.studentId());
+            }
+        }
+
+        // A removed or lowered extreme can only be found again from the grades themselves
+        staleCourses.forEach(id -> refreshExtremes(courses.get(id), gradeRepository.aggregateByCourseId(id)));
+        staleStudents.forEach(id -> refreshExtremes(students.get(id), gradeRepository.aggregateByStudentId(id)));
+        students.values().forEach(StudentStats::bumpGradeVersion);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StudentStats> getStudentStats(Long studentId) {
+        return studentStatsRepository.findById(studentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CourseStats> getCourseStats(Long courseId) {
+        return courseStatsRepository.findById(courseId);
+    }
+
+    @Override
+    public StatsReconciliationReport reconcile() {
+        long start = System.currentTimeMillis();
+        // Locking the rows before reading grades: a concurrent grade write either finished already
+        // (and is in the aggregates) or waits and applies its change on top of the rebuilt row.
+        // Courses before students, the order apply() takes them in, or the two would deadlock
+        Map<Long, CourseStats> courses = courseStatsRepository.lockAll().stream()
+                .collect(Collectors.toMap(CourseStats::getCourseId, Function.identity()));
+        Map<Long, StudentStats> students = studentStatsRepository.lockAll().stream()
+                .collect(Collectors.toMap(StudentStats::getStudentId, Function.identity()));
+
+        List<KeyedGradeAggregateView> studentRows = gradeRepository.aggregateByStudent();
+        List<KeyedGradeAggregateView> courseRows = gradeRepository.aggregateByCourse();
+        int studentsDrifted = rebuild(students, studentRows, StudentStats::new);
+        int coursesDrifted = rebuild(courses, courseRows, CourseStats::new);
+
+        StatsReconciliationReport report = new StatsReconciliationReport(Instant.now(),
+                System.currentTimeMillis() - start, studentRows.size(), studentsDrifted,
+                courseRows.size(), coursesDrifted);
+        if (report.hasDrift()) {
+            log.warn("Grade statistics drifted: {} student rows and {} course rows corrected",
+                    studentsDrifted, coursesDrifted);
+        } else {
+            log.info("Grade statistics reconciled in {} ms, no drift", report.getDurationMillis());
+        }
+        lastReconciliation = report;
+        return report;
+    }
+
+    @Override
+    public StatsReconciliationReport getLastReconciliation() {
+        return lastReconciliation;
+    }
+
+    private <T extends GradeTotals> Map<Long, T> lock(Set<Long> ids, Function<Set<Long>, List<T>> locker,
+            Function<T, Long> idOf, Class<T> type, String table, String idColumn) {
+        Map<Long, T> rows = new HashMap<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        locker.apply(ids).forEach(row -> rows.put(idOf.apply(row), row));
+        Set<Long> missing = new TreeSet<>(ids);
+        missing.removeAll(rows.keySet());
+        if (!missing.isEmpty()) {
+            // No grade yet for these students or courses. Two first grades may race to create the same row:
+            // the insert only adds it when absent, so the second writer waits on the first instead of failing
+            // on the primary key, then both lock the row as usual
+            missing.forEach(id -> insertIfAbsent(type, table, idColumn, id));
+            locker.apply(missing).forEach(row -> rows.put(idOf.apply(row), row));
+        }
+        return rows;
+    }
+
+    private void insertIfAbsent(Class<?> type, String table, String idColumn, Long id) {
+        boolean student = type == StudentStats.class;
+        String columns = idColumn + ", grade_sum, grade_sum_squares, grade_count, pass_count"
+                + (student ? ", grade_version" : "");
+        String values = "?1, 0, 0, 0, 0" + (student ? ", 0" : "");
+        // The no-op update takes the row's exclusive lock on MySQL, INSERT IGNORE would take a shared one
+        // and two writers upgrading it would deadlock. The H2 dev database has no upsert in its default mode.
+        String sql = mysql()
+                ? "insert into " + table + " (" + columns + ") values (" + values + ")"
+                        + " on duplicate key update " + idColumn + " = " + idColumn
+                : "insert into " + table + " (" + columns + ") select " + values
+                        + " where not exists (select 1 from " + table + " where " + idColumn + " = ?1)";
+        entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Only this entity's cache region is affected, not the whole second-level cache
+                .addSynchronizedEntityClass(type)
+                .setParameter(1, id)
+                .executeUpdate();
+    }
+
+    private boolean mysql() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    private static boolean apply(GradeTotals totals, GradeChange change) {
+        boolean stale = false;
+        if (change.oldValue() != null) {
+            stale = totals.remove(change.oldValue());
+        }
+        if (change.newValue() != null) {
+            totals.add(change.newValue());
+        }
+        return stale;
+    }
+
+    private static void refreshExtremes(GradeTotals totals, GradeAggregateView aggregate) {
+        totals.setMin(aggregate.getMinimum());
+        totals.setMax(aggregate.getMaximum());
+    }
+
+    private <T extends GradeTotals> int rebuild(Map<Long, T> rows, List<KeyedGradeAggregateView> aggregates,
+            Function<Long, T> creator) {
+        int drifted = 0;
+        Map<Long, T> leftovers = new HashMap<>(rows);
+        for (KeyedGradeAggregateView aggregate : aggregates) {
+            T row = leftovers.remove(aggregate.getId());
+            if (row == null) {
+                row = creator.apply(aggregate.getId());
+                entityManager.persist(row);
+                drifted++;
+            } else if (!matches(row, aggregate)) {
+                drifted++;
+            } else {
+                continue;
+            }
+            row.setCount((int) aggregate.getTotal());
+            row.setPassCount(aggregate.getPassed().intValue());
+            row.setSum(aggregate.getGradeSum());
+            row.setSumOfSquares(aggregate.getSumOfSquares());
+            row.setMin(aggregate.getMinimum());
+            row.setMax(aggregate.getMaximum());
+            bumpVersion(row);
+        }
+        // Rows without any grade left are fine as long as they are empty; they are emptied rather than
+        // removed so a student's grade version never starts over
+        for (T row : leftovers.values()) {
+            if (row.getCount() != 0) {
+                drifted++;
+                row.setCount(0);
+                row.setPassCount(0);
+                row.setSum(0);
+                row.setSumOfSquares(0);
+                row.setMin(null);
+                row.setMax(null);
+                bumpVersion(row);
+            }
+        }
+        return drifted;
+    }
+
+    private static void bumpVersion(GradeTotals row) {
+        if (row instanceof StudentStats student) {
+            student.bumpGradeVersion();
+        }
+    }
+
+    private static boolean matches(GradeTotals row, KeyedGradeAggregateView aggregate) {
+        return row.getCount() == aggregate.getTotal()
+                && row.getPassCount() == aggregate.getPassed()
+                && Objects.equals(row.getMin(), aggregate.getMinimum())
+                && Objects.equals(row.getMax(), aggregate.getMaximum())
+                && closeTo(row.getSum(), aggregate.getGradeSum())
+                && closeTo(row.getSumOfSquares(), aggregate.getSumOfSquares());
+    }
+
+    // Sums are accumulated in a different order than the database adds them up
+    private static boolean closeTo(double a, double b) {
+        return Math.abs(a - b) <= 1e-6 * Math.max(1.0, Math.abs(b));
+    }
+}
@@ -0,0 +1,144 @@
+package com.gestion.backend.services.impl;
+
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.Trainer;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.TrainerRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.CachingUserDetailsService;
+import com.gestion.backend.services.IdentityLinkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class IdentityLinkServiceImpl implements IdentityLinkService {
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final TrainerRepository trainerRepository;
+    private final CachingUserDetailsService userDetailsCache;
+
+    private final AtomicLong loginLinkAttempts = new AtomicLong();
+    private final AtomicLong loginLinkSuccesses = new AtomicLong();
+    private volatile int lastBackfillCount;
+
+    @Override
+    public int backfill() {
+        List<User> linked = new ArrayList<>();
+        linked.addAll(backfillStudents(userRepository.findByRoleAndStudentIdIsNull(User.Role.STUDENT)));
+        linked.addAll(backfillTrainers(userRepository.findByRoleAndTrainerIdIsNull(User.Role.TRAINER)));
+
+        userRepository.saveAll(linked);
+        linked.forEach(u -> userDetailsCache.evict(u.getUsername()));
+        lastBackfillCount = linked.size();
+        log.info("Identity link backfill: {} users linked", linked.size());
+        return linked.size();
+    }
+
+    private List<User> backfillStudents(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Set<String> usernames = users.stream().map(User::getUsername).collect(Collectors.toSet());
+        Map<String, Long> byKey = new HashMap<>();
+        // Email wins over matricule, same precedence as the login-time lookup
+        studentRepository.findByMatriculeIn(usernames).forEach(s -> byKey.put(s.getMatricule(), s.getId()));
+        studentRepository.findByEmailIn(usernames).forEach(s -> byKey.put(s.getEmail(), s.getId()));
+
+        Set<Long> taken = new HashSet<>(userRepository.findLinkedStudentIds(byKey.values()));
+        List<User> linked = new ArrayList<>();
+        for (User user : users) {
+            Long studentId = byKey.get(user.getUsername());
+            if (studentId != null && taken.add(studentId)) {
+                user.setStudentId(studentId);
+                linked.add(user);
+            }
+        }
+        return linked;
+    }
+
+    private List<User> backfillTrainers(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Set<String> usernames = users.stream().map(User::getUsername).collect(Collectors.toSet());
+        Map<String, Long> byEmail = trainerRepository.findByEmailIn(usernames).stream()
+                .collect(Collectors.toMap(Trainer::getEmail, Trainer::getId));
+
+        Set<Long> taken = new HashSet<>(userRepository.findLinkedTrainerIds(byEmail.values()));
+        List<User> linked = new ArrayList<>();
+        for (User user : users) {
+            Long trainerId = byEmail.get(user.getUsername());
+            if (trainerId != null && taken.add(trainerId)) {
+                user.setTrainerId(trainerId);
+                linked.add(user);
+            }
+        }
+        return linked;
+    }
+
+    @Override
+    public User linkOnLogin(User user) {
+        loginLinkAttempts.incrementAndGet();
+        log.warn("Unlinked {} account at login: {}", user.getRole(), user.getUsername());
+
+        if (user.getRole() == User.Role.STUDENT && user.getStudentId() == null) {
+            Long studentId = studentRepository.findByEmail(user.getUsername())
+                    .or(() -> studentRepository.findByMatricule(user.getUsername()))
+                    .map(Student::getId)
+                    .filter(id -> !userRepository.existsByStudentId(id))
+                    .orElse(null);
+            if (studentId != null) {
+                user.setStudentId(studentId);
+                return saveLinked(user);
+            }
+        } else if (user.getRole() == User.Role.TRAINER && user.getTrainerId() == null) {
+            Long trainerId = trainerRepository.findByEmail(user.getUsername())
+                    .map(Trainer::getId)
+                    .filter(id -> !userRepository.existsByTrainerId(id))
+                    .orElse(null);
+            if (trainerId != null) {
+                user.setTrainerId(trainerId);
+                return saveLinked(user);
+            }
+        }
+        return user;
+    }
+
+    private User saveLinked(User user) {
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername());
+        loginLinkSuccesses.incrementAndGet();
+        return saved;
+    }
+
+    @Override
+    public long getLoginLinkAttempts() {
+        return loginLinkAttempts.get();
+    }
+
+    @Override
+    public long getLoginLinkSuccesses() {
+        return loginLinkSuccesses.get();
+    }
+
+    @Override
+    public int getLastBackfillCount() {
+        return lastBackfillCount;
+    }
+}
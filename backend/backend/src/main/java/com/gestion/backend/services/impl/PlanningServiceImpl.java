@@ -1,9 +1,7 @@
 package com.gestion.backend.services.impl;
 
 import com.gestion.backend.entities.Seance;
-import com.gestion.backend.entities.Student;
 import com.gestion.backend.repositories.SeanceRepository;
-import com.gestion.backend.repositories.StudentRepository;
 import com.gestion.backend.services.PlanningService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,8 +13,6 @@ import java.util.List;
 public class PlanningServiceImpl implements PlanningService {
 
     private final SeanceRepository seanceRepository;
-    private final StudentRepository studentRepository;
-    private final com.gestion.backend.repositories.UserRepository userRepository;
 
     @Override
     public Seance createSeance(Seance seance) {
@@ -25,7 +21,11 @@ public class PlanningServiceImpl implements PlanningService {
     }
 
     private void checkConflicts(Seance newSeance) {
-        List<Seance> existingSeances = seanceRepository.findByDate(newSeance.getDate());
+        Long trainerId = newSeance.getCourse().getTrainer() != null ? newSeance.getCourse().getTrainer().getId() : null;
+        // Only overlapping seances sharing a group, room or trainer come back, through idx_seances_date
+        List<Seance> existingSeances = seanceRepository.findConflicting(newSeance.getDate(),
+                newSeance.getStartTime(), newSeance.getEndTime(), newSeance.getGroup().getId(),
+                newSeance.getRoom(), trainerId);
 
         for (Seance existing : existingSeances) {
             if (isOverlapping(newSeance, existing)) {
@@ -64,21 +64,11 @@ public class PlanningServiceImpl implements PlanningService {
     }
 
     @Override
-    public List<Seance> getSeancesByStudent(String username) {
-        com.gestion.backend.entities.User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (user.getStudentId() == null) {
-            return List.of();
-        }
-
-        Student student = studentRepository.findById(user.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
-
-        if (student.getGroup() == null) {
+    public List<Seance> getSeancesByStudent(Long studentId) {
+        if (studentId == null) {
             return List.of();
         }
-        return seanceRepository.findByGroupId(student.getGroup().getId());
+        return seanceRepository.findByStudentGroup(studentId);
     }
 
     @Override
@@ -0,0 +1,331 @@
+package com.gestion.backend.services.impl;
+
+import com.gestion.backend.dtos.GradeStats;
+import com.gestion.backend.dtos.ReportJobStatus;
+import com.gestion.backend.exceptions.ReportNotReadyException;
+import com.gestion.backend.exceptions.ResourceNotFoundException;
+import com.gestion.backend.exceptions.ServiceBusyException;
+import com.gestion.backend.services.ReportJobService;
+import com.gestion.backend.services.ReportService;
+import com.gestion.backend.services.SpecialtyService;
+import com.gestion.backend.services.StudentGroupService;
+import com.opencsv.CSVWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    // <job id>.tmp while running, <job id>.zip or .csv once done
+    private static final Pattern JOB_FILE = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(zip|csv|tmp)");
+
+    private final ReportService reportService;
+    private final StudentGroupService studentGroupService;
+    private final SpecialtyService specialtyService;
+
+    private final ThreadPoolExecutor executor;
+    private final Path directory;
+    private final Duration ttl;
+    private final Duration reuseWindow;
+    private final long retryAfterSeconds;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Latest job per report (type and parameter), used to deduplicate submissions
+    private final Map<String, Job> latest = new ConcurrentHashMap<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong totalQueueMillis = new AtomicLong();
+    private final AtomicLong totalRunMillis = new AtomicLong();
+    private final AtomicLong maxRunMillis = new AtomicLong();
+
+    public ReportJobServiceImpl(ReportService reportService, StudentGroupService studentGroupService,
+            SpecialtyService specialtyService,
+            @Value("${app.report-jobs.threads:2}") int threads,
+            @Value("${app.report-jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${app.report-jobs.dir:}") String directory,
+            @Value("${app.report-jobs.ttl:PT1H}") Duration ttl,
+            @Value("${app.report-jobs.reuse-window:PT5M}") Duration reuseWindow,
+            @Value("${app.report-jobs.retry-after-seconds:30}") long retryAfterSeconds) throws IOException {
+        this.reportService = reportService;
+        this.studentGroupService = studentGroupService;
+        this.specialtyService = specialtyService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "report-job-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.directory = directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "edu-manage-reports")
+                : Path.of(directory);
+        this.ttl = ttl;
+        this.reuseWindow = reuseWindow;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Files.createDirectories(this.directory);
+        // Jobs only live in memory, files left by a previous run cannot be downloaded any more. Only the
+        // files this service names are removed, the directory may be shared
+        try (Stream<Path> leftovers = Files.list(this.directory)) {
+            leftovers.filter(path -> JOB_FILE.matcher(path.getFileName().toString()).matches())
+                    .forEach(ReportJobServiceImpl::deleteQuietly);
+        }
+    }
+
+    @Override
+    public ReportJobStatus submit(Type type, Long parameter) {
+        Long key = type == Type.COURSE_STATS ? null : parameter;
+        checkParameter(type, key);
+        String reportKey = type + ":" + key;
+        Job job;
+        synchronized (latest) {
+            Job existing = latest.get(reportKey);
+            if (existing != null && existing.reusable(Instant.now().minus(reuseWindow))) {
+                deduplicated.incrementAndGet();
+                return existing.toStatus(ttl);
+            }
+            job = new Job(UUID.randomUUID().toString(), type, key);
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                throw new ServiceBusyException("Too many reports in progress, please retry later", retryAfterSeconds);
+            }
+            jobs.put(job.id, job);
+            latest.put(reportKey, job);
+        }
+        return job.toStatus(ttl);
+    }
+
+    @Override
+    public ReportJobStatus getStatus(String jobId) {
+        return find(jobId).toStatus(ttl);
+    }
+
+    @Override
+    public Result getResult(String jobId) {
+        Job job = find(jobId);
+        if (job.state != State.DONE) {
+            throw new ReportNotReadyException("Report job is " + job.state.name().toLowerCase()
+                    + (job.error != null ? ": " + job.error : ""));
+        }
+        return new Result(job.file, job.fileName(), job.contentType());
+    }
+
+    @Override
+    public int removeExpired() {
+        Instant limit = Instant.now().minus(ttl);
+        int removed = 0;
+        Iterator<Job> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            Job job = it.next();
+            if (job.finishedAt != null && job.finishedAt.isBefore(limit)) {
+                it.remove();
+                latest.remove(job.type + ":" + job.parameter, job);
+                if (job.file != null) {
+                    deleteQuietly(job.file);
+                }
+                removed++;
+            }
+        }
+        expired.addAndGet(removed);
+        return removed;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        long started = completed.get() + failed.get() + running.get();
+        long finished = completed.get() + failed.get();
+        return new Metrics(executor.getQueue().size(), running.get(), completed.get(), failed.get(),
+                deduplicated.get(), rejected.get(), expired.get(),
+                started == 0 ? 0.0 : (double) totalQueueMillis.get() / started,
+                finished == 0 ? 0.0 : (double) totalRunMillis.get() / finished,
+                maxRunMillis.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.startedAt = Instant.now();
+        job.state = State.RUNNING;
+        running.incrementAndGet();
+        totalQueueMillis.addAndGet(Duration.between(job.submittedAt, job.startedAt).toMillis());
+        Path tmp = directory.resolve(job.id + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                write(job, out);
+            }
+            Path file = directory.resolve(job.id + job.extension());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            job.file = file;
+            job.sizeBytes = Files.size(file);
+            job.finishedAt = Instant.now();
+            job.state = State.DONE;
+            completed.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Report job {} ({} {}) failed: {}", job.id, job.type, job.parameter, e.getMessage());
+            deleteQuietly(tmp);
+            job.error = e.getMessage();
+            job.finishedAt = Instant.now();
+            job.state = State.FAILED;
+            failed.incrementAndGet();
+        } finally {
+            running.decrementAndGet();
+            long millis = Duration.between(job.startedAt, job.finishedAt).toMillis();
+            totalRunMillis.addAndGet(millis);
+            maxRunMillis.accumulateAndGet(millis, Math::max);
+        }
+    }
+
+    private void write(Job job, OutputStream out) throws IOException {
+        switch (job.type) {
+            case GROUP_TRANSCRIPTS -> reportService.writeGroupTranscriptsZip(job.parameter, out);
+            case SPECIALTY_TRANSCRIPTS -> reportService.writeSpecialtyTranscriptsZip(job.parameter, out);
+            case COURSE_STATS -> {
+                CSVWriter csv = new CSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                csv.writeNext(new String[] { "course_id", "count", "average", "min", "max", "standard_deviation",
+                        "passed", "success_rate" });
+                for (GradeStats stats : reportService.getAllCourseStats()) {
+                    csv.writeNext(new String[] { String.valueOf(stats.getId()), String.valueOf(stats.getCount()),
+                            String.valueOf(stats.getAverage()), String.valueOf(stats.getMin()),
+                            String.valueOf(stats.getMax()), String.valueOf(stats.getStandardDeviation()),
+                            String.valueOf(stats.getPassed()), String.valueOf(stats.getSuccessRate()) });
+                }
+                csv.flush();
+            }
+        }
+    }
+
+    // Checked on submit so a wrong id is a 404 right away rather than a failed job later
+    private void checkParameter(Type type, Long parameter) {
+        switch (type) {
+            case GROUP_TRANSCRIPTS -> {
+                if (parameter == null || studentGroupService.findById(parameter).isEmpty()) {
+                    throw new ResourceNotFoundException("Group not found");
+                }
+            }
+            case SPECIALTY_TRANSCRIPTS -> {
+                if (parameter == null || specialtyService.findById(parameter).isEmpty()) {
+                    throw new ResourceNotFoundException("Specialty not found");
+                }
+            }
+            case COURSE_STATS -> {
+            }
+        }
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found or expired");
+        }
+        return job;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Type type;
+        private final Long parameter;
+        private final Instant submittedAt = Instant.now();
+        private volatile State state = State.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Path file;
+        private volatile Long sizeBytes;
+        private volatile String error;
+
+        private Job(String id, Type type, Long parameter) {
+            this.id = id;
+            this.type = type;
+            this.parameter = parameter;
+        }
+
+        // Pending jobs are always shared; a finished one only while its data is recent enough
+        private boolean reusable(Instant notBefore) {
+            return switch (state) {
+                case QUEUED, RUNNING -> true;
+                case DONE -> finishedAt.isAfter(notBefore);
+                case FAILED -> false;
+            };
+        }
+
+        private String extension() {
+            return type == Type.COURSE_STATS ? ".csv" : ".zip";
+        }
+
+        private String contentType() {
+            return type == Type.COURSE_STATS ? "text/csv;charset=UTF-8" : "application/zip";
+        }
+
+        private String fileName() {
+            return switch (type) {
+                case GROUP_TRANSCRIPTS -> "transcripts-group-" + parameter + ".zip";
+                case SPECIALTY_TRANSCRIPTS -> "transcripts-specialty-" + parameter + ".zip";
+                case COURSE_STATS -> "course-stats.csv";
+            };
+        }
+
+        private ReportJobStatus toStatus(Duration ttl) {
+            Instant started = startedAt;
+            Instant finished = finishedAt;
+            return ReportJobStatus.builder()
+                    .id(id)
+                    .type(type)
+                    .parameter(parameter)
+                    .state(state)
+                    .submittedAt(submittedAt)
+                    .startedAt(started)
+                    .finishedAt(finished)
+                    .queueMillis(started == null ? null : Duration.between(submittedAt, started).toMillis())
+                    .runMillis(started == null || finished == null ? null : Duration.between(started, finished).toMillis())
+                    .sizeBytes(sizeBytes)
+                    .error(error)
+                    .expiresAt(finished == null ? null : finished.plus(ttl))
+                    .build();
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package com.gestion.backend.services.impl;
 
-import com.gestion.backend.entities.Grade;
+import com.gestion.backend.dtos.GradeStats;
+import com.gestion.backend.exceptions.ResourceNotFoundException;
+import com.gestion.backend.entities.GradeTotals;
 import com.gestion.backend.entities.Student;
+import com.gestion.backend.repositories.CourseStatsRepository;
 import com.gestion.backend.repositories.GradeRepository;
+import com.gestion.backend.repositories.GradeRepository.CohortTranscriptRowView;
+import com.gestion.backend.repositories.GradeRepository.TranscriptLineView;
 import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.StudentRepository.TranscriptVersionView;
+import com.gestion.backend.repositories.StudentStatsRepository;
+import com.gestion.backend.reports.TranscriptJob;
+import com.gestion.backend.reports.TranscriptPdfRenderer;
+import com.gestion.backend.reports.TranscriptRenderExecutor;
 import com.gestion.backend.services.ReportService;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,59 +36,160 @@ public class ReportServiceImpl implements ReportService {
 
     private final GradeRepository gradeRepository;
     private final StudentRepository studentRepository;
+    private final StudentStatsRepository studentStatsRepository;
+    private final CourseStatsRepository courseStatsRepository;
+    private final TranscriptPdfRenderer transcriptPdfRenderer;
+    private final TranscriptRenderExecutor transcriptRenderExecutor;
 
+    // Single primary-key lookups on the statistics tables maintained by GradeStatsService
     @Override
+    @Transactional(readOnly = true)
     public double calculateStudentGpa(Long studentId) {
-        List<Grade> grades = gradeRepository.findByStudentId(studentId);
-        if (grades.isEmpty())
-            return 0.0;
-        return grades.stream().mapToDouble(Grade::getValue).average().orElse(0.0);
+        return studentStatsRepository.findById(studentId).map(GradeTotals::average).orElse(0.0);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public double calculateCourseSuccessRate(Long courseId) {
-        List<Grade> grades = gradeRepository.findByCourseId(courseId);
-        if (grades.isEmpty())
-            return 0.0;
-        long successful = grades.stream().filter(g -> g.getValue() >= 10).count();
-        return (double) successful / grades.size() * 100;
+        return courseStatsRepository.findById(courseId).map(GradeTotals::successRate).orElse(0.0);
     }
 
     @Override
-    public ByteArrayInputStream generateGradesPdf(Long studentId) {
+    @Transactional(readOnly = true)
+    public Map<Long, Double> calculateStudentGpas(Collection<Long> studentIds) {
+        Map<Long, Double> gpas = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return gpas;
+        }
+        studentIds.forEach(id -> gpas.put(id, 0.0));
+        studentStatsRepository.findAllById(studentIds).forEach(s -> gpas.put(s.getStudentId(), s.average()));
+        return gpas;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Double> calculateCourseSuccessRates() {
+        Map<Long, Double> rates = new HashMap<>();
+        courseStatsRepository.findAll().forEach(c -> rates.put(c.getCourseId(), c.successRate()));
+        return rates;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GradeStats getCourseStats(Long courseId) {
+        return courseStatsRepository.findById(courseId)
+                .map(c -> toStats(courseId, c))
+                .orElseGet(() -> GradeStats.builder().id(courseId).build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GradeStats getStudentStats(Long studentId) {
+        return studentStatsRepository.findById(studentId)
+                .map(s -> toStats(studentId, s))
+                .orElseGet(() -> GradeStats.builder().id(studentId).build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GradeStats> getAllCourseStats() {
+        return courseStatsRepository.findAll().stream()
+                .filter(c -> c.getCount() > 0)
+                .map(c -> toStats(c.getCourseId(), c))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTranscriptTag(Long studentId) {
+        TranscriptVersionView version = studentRepository.findTranscriptVersion(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        int identity = Objects.hash(version.getFirstName(), version.getLastName(), version.getMatricule());
+        return studentId + "-" + (version.getGradeVersion() == null ? 0 : version.getGradeVersion())
+                + "-" + Integer.toHexString(identity) + "-" + TranscriptPdfRenderer.LAYOUT_VERSION;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeGradesPdf(Long studentId, OutputStream out) {
         Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-        List<Grade> grades = gradeRepository.findByStudentId(studentId);
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        double gpa = calculateStudentGpa(studentId);
+        try (Stream<TranscriptLineView> lines = gradeRepository.streamTranscriptLines(studentId)) {
+            Iterator<TranscriptPdfRenderer.Line> rows = lines
+                    .map(l -> new TranscriptPdfRenderer.Line(l.getCourseTitle(), l.getValue()))
+                    .iterator();
+            transcriptPdfRenderer.render("Relevé de Notes - " + student.getFirstName() + " " + student.getLastName(),
+                    student.getMatricule(), rows, gpa, out);
+        }
+    }
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    @Override
+    @Transactional(readOnly = true)
+    public int writeGroupTranscriptsZip(Long groupId, OutputStream out) {
+        try (Stream<CohortTranscriptRowView> rows = gradeRepository.streamTranscriptRowsByGroupId(groupId)) {
+            return transcriptRenderExecutor.writeZip(new CohortJobs(rows.iterator()), out);
+        }
+    }
 
-        try {
-            PdfWriter writer = new PdfWriter(out);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
+    @Override
+    @Transactional(readOnly = true)
+    public int writeSpecialtyTranscriptsZip(Long specialtyId, OutputStream out) {
+        try (Stream<CohortTranscriptRowView> rows = gradeRepository.streamTranscriptRowsBySpecialtyId(specialtyId)) {
+            return transcriptRenderExecutor.writeZip(new CohortJobs(rows.iterator()), out);
+        }
+    }
 
-            document.add(new Paragraph("Relevé de Notes - " + student.getFirstName() + " " + student.getLastName()));
-            document.add(new Paragraph("Matricule: " + student.getMatricule()));
-            document.add(new Paragraph("\n"));
+    /**
+     * Turns the cohort rows (ordered by student) into one job per student, reading only as far as the next student.
+     * The GPA is the mean of the rows, the same value student_stats holds.
+     */
+    private static class CohortJobs implements Iterator<TranscriptJob> {
 
-            float[] columnWidths = { 200f, 100f };
-            Table table = new Table(columnWidths);
-            table.addCell("Cours");
-            table.addCell("Note");
+        private final Iterator<CohortTranscriptRowView> rows;
+        private CohortTranscriptRowView next;
 
-            for (Grade grade : grades) {
-                table.addCell(grade.getCourse().getTitle());
-                table.addCell(String.valueOf(grade.getValue()));
-            }
+        CohortJobs(Iterator<CohortTranscriptRowView> rows) {
+            this.rows = rows;
+            this.next = rows.hasNext() ? rows.next() : null;
+        }
 
-            document.add(table);
-            document.add(new Paragraph("\nMoyenne Générale: " + String.format("%.2f", calculateStudentGpa(studentId))));
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
 
-            document.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+        @Override
+        public TranscriptJob next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            CohortTranscriptRowView first = next;
+            List<TranscriptPdfRenderer.Line> lines = new ArrayList<>();
+            double sum = 0;
+            while (next != null && next.getStudentId().equals(first.getStudentId())) {
+                if (next.getCourseTitle() != null) {
+                    lines.add(new TranscriptPdfRenderer.Line(next.getCourseTitle(), next.getValue()));
+                    sum += next.getValue();
+                }
+                next = rows.hasNext() ? rows.next() : null;
+            }
+            return new TranscriptJob(first.getMatricule().replaceAll("[^A-Za-z0-9._-]", "_") + ".pdf",
+                    "Relevé de Notes - " + first.getFirstName() + " " + first.getLastName(),
+                    first.getMatricule(), lines, lines.isEmpty() ? 0.0 : sum / lines.size());
         }
+    }
 
-        return new ByteArrayInputStream(out.toByteArray());
+    private static GradeStats toStats(Long id, GradeTotals totals) {
+        return GradeStats.builder()
+                .id(id)
+                .count(totals.getCount())
+                .average(totals.average())
+                .min(totals.getMin())
+                .max(totals.getMax())
+                .standardDeviation(totals.standardDeviation())
+                .passed(totals.getPassCount())
+                .successRate(totals.successRate())
+                .build();
     }
 }
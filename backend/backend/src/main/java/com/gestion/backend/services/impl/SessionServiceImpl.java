@@ -5,6 +5,7 @@ import com.gestion.backend.repositories.SessionRepository;
 import com.gestion.backend.services.SessionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
@@ -28,6 +29,7 @@ public class SessionServiceImpl implements SessionService {
     }
 
     @Override
+    @Transactional
     public Session toggleActive(Long id) {
         Session session = sessionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Session with ID " + id + " not found"));
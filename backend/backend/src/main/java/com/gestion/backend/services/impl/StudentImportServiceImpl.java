@@ -0,0 +1,245 @@
+package com.gestion.backend.services.impl;
+
+import com.gestion.backend.dtos.ImportReport;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.StudentGroup;
+import com.gestion.backend.repositories.StudentGroupRepository;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.services.StudentImportService;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a registrar CSV export into the students table. Rows are read one at a time and handled
+ * in chunks: uniqueness is checked with one IN query per column, groups are resolved once per chunk
+ * and each chunk is inserted as JDBC batches, then detached so the heap stays flat on large files.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final StudentRepository studentRepository;
+    private final StudentGroupRepository groupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public ImportReport importCsv(InputStream in) {
+        ImportReport report = new ImportReport();
+        // Keys already taken earlier in the file, so duplicates are caught without a query
+        Set<String> seen = new HashSet<>();
+        long stamp = System.currentTimeMillis();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] header = reader.readNext();
+            if (header == null) {
+                return report;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            String[] line;
+            int lineNumber = 1;
+            while ((line = reader.readNext()) != null) {
+                lineNumber++;
+                Row row = new Row(lineNumber);
+                row.matricule = column(line, columns, "matricule");
+                row.firstName = column(line, columns, "firstname");
+                row.lastName = column(line, columns, "lastname");
+                row.email = column(line, columns, "email");
+                row.groupName = column(line, columns, "group");
+                row.registrationDate = column(line, columns, "registrationdate");
+                if (isBlank(row.matricule)) {
+                    row.matricule = "STU-" + stamp + "-" + lineNumber;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, seen, report);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, seen, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (CsvValidationException e) {
+            throw new RuntimeException("Invalid CSV: " + e.getMessage(), e);
+        }
+        log.info("Student import finished: {} created, {} failed", report.getSucceeded(), report.getFailed());
+        return report;
+    }
+
+    private void processChunk(List<Row> chunk, Set<String> seen, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> valid = new ArrayList<>();
+        for (Row row : chunk) {
+            String error = validate(row, seen);
+            if (error != null) {
+                report.failure(row.line, row.email, error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // MySQL compares the IN lists case-insensitively and returns the stored casing, so the answers are
+        // normalized like the keys of the rows before they are compared
+        Set<String> existingEmails = studentRepository.findExistingEmails(
+                        valid.stream().map(r -> r.email).collect(Collectors.toSet()))
+                .stream().map(StudentImportServiceImpl::normalize).collect(Collectors.toSet());
+        Set<String> existingMatricules = studentRepository.findExistingMatricules(
+                        valid.stream().map(r -> r.matricule).collect(Collectors.toSet()))
+                .stream().map(StudentImportServiceImpl::matriculeKey).collect(Collectors.toSet());
+        Set<String> groupNames = valid.stream().map(r -> r.groupName).filter(n -> !isBlank(n))
+                .collect(Collectors.toSet());
+        Map<String, StudentGroup> groups = groupNames.isEmpty() ? Map.of()
+                : groupRepository.findByNameIn(groupNames).stream()
+                        .collect(Collectors.toMap(StudentGroup::getName, g -> g, (a, b) -> a));
+
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : valid) {
+            if (existingEmails.contains(row.email)) {
+                report.failure(row.line, row.email, "Email already exists");
+            } else if (existingMatricules.contains(matriculeKey(row.matricule))) {
+                report.failure(row.line, row.email, "Matricule already exists");
+            } else if (!isBlank(row.groupName) && !groups.containsKey(row.groupName)) {
+                report.failure(row.line, row.email, "Unknown group: " + row.groupName);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(accepted, groups));
+            report.successes(accepted.size());
+        } catch (RuntimeException e) {
+            // One row the checks could not catch (a value too long, a key taken meanwhile) rolls back the
+            // whole chunk: the rows are inserted again one by one so only that row is reported
+            log.warn("Student import chunk of {} rows failed, retrying row by row", accepted.size(), e);
+            for (Row row : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertChunk(List.of(row), groups));
+                    report.successes(1);
+                } catch (RuntimeException rowError) {
+                    report.failure(row.line, row.email,
+                            "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        log.info("Student import progress: {} rows read, {} created, {} failed",
+                report.getTotal(), report.getSucceeded(), report.getFailed());
+    }
+
+    private void insertChunk(List<Row> rows, Map<String, StudentGroup> groups) {
+        List<Student> students = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            StudentGroup group = isBlank(row.groupName) ? null
+                    : entityManager.getReference(StudentGroup.class, groups.get(row.groupName).getId());
+            students.add(Student.builder()
+                    .matricule(row.matricule)
+                    .firstName(row.firstName)
+                    .lastName(row.lastName)
+                    .email(row.email)
+                    .registrationDate(row.parsedDate)
+                    .group(group)
+                    .build());
+        }
+        studentRepository.saveAll(students);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(Row row, Set<String> seen) {
+        if (isBlank(row.firstName) || isBlank(row.lastName)) {
+            return "First name and last name are required";
+        }
+        if (isBlank(row.email) || !row.email.contains("@")) {
+            return "Invalid email: " + row.email;
+        }
+        // Stored lowercased, like the accounts created by UserProvisioningService
+        row.email = normalize(row.email);
+        if (!isBlank(row.registrationDate)) {
+            try {
+                row.parsedDate = LocalDate.parse(row.registrationDate);
+            } catch (DateTimeParseException e) {
+                return "Invalid registration date: " + row.registrationDate;
+            }
+        } else {
+            row.parsedDate = LocalDate.now();
+        }
+        if (!seen.add("e:" + row.email)) {
+            return "Duplicate email in file";
+        }
+        if (!seen.add("m:" + matriculeKey(row.matricule))) {
+            return "Duplicate matricule in file";
+        }
+        return null;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Matricules keep the casing of the file, they are only compared without it
+    private static String matriculeKey(String matricule) {
+        return matricule.toUpperCase(Locale.ROOT);
+    }
+
+    private static String column(String[] line, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= line.length) {
+            return null;
+        }
+        String value = line[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class Row {
+        private final int line;
+        private String matricule;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String groupName;
+        private String registrationDate;
+        private LocalDate parsedDate;
+
+        private Row(int line) {
+            this.line = line;
+        }
+    }
+}
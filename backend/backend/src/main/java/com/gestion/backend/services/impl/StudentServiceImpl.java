@@ -1,9 +1,16 @@
 package com.gestion.backend.services.impl;
 
 import com.gestion.backend.entities.Student;
+import com.gestion.backend.repositories.GradeRepository;
 import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.GradeStatsService.GradeChange;
 import com.gestion.backend.services.StudentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +23,8 @@ import java.util.Optional;
 public class StudentServiceImpl implements StudentService {
 
     private final StudentRepository studentRepository;
+    private final GradeRepository gradeRepository;
+    private final GradeStatsService gradeStatsService;
 
     @Override
     public Student save(Student student) {
@@ -44,7 +53,13 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public void delete(Long id) {
+        // Grades go with the student (cascade), their values are taken out of the statistics afterwards
+        List<GradeChange> removed = gradeRepository.findByStudentId(id).stream()
+                .map(g -> GradeChange.removed(g.getStudent().getId(), g.getCourse().getId(), g.getValue()))
+                .toList();
         studentRepository.deleteById(id);
+        studentRepository.flush();
+        gradeStatsService.forgetStudent(id, removed);
     }
 
     @Override
@@ -59,6 +74,18 @@ public class StudentServiceImpl implements StudentService {
         return studentRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Student> findPage(ScrollPosition position, Sort sort, Limit limit) {
+        return studentRepository.findAllBy(position, sort, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return studentRepository.count();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Student> findByEmail(String email) {
@@ -4,6 +4,10 @@ import com.gestion.backend.entities.Trainer;
 import com.gestion.backend.repositories.TrainerRepository;
 import com.gestion.backend.services.TrainerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,6 +56,18 @@ public class TrainerServiceImpl implements TrainerService {
         return trainerRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Trainer> findPage(ScrollPosition position, Sort sort, Limit limit) {
+        return trainerRepository.findAllBy(position, sort, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return trainerRepository.count();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Trainer> findByEmail(String email) {
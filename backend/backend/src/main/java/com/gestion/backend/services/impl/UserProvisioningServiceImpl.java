@@ -0,0 +1,321 @@
+package com.gestion.backend.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.backend.dtos.ImportReport;
+import com.gestion.backend.dtos.RegisterRequest;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.Trainer;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.exceptions.BadRequestException;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.TrainerRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.CachingUserDetailsService;
+import com.gestion.backend.security.PasswordHashingExecutor;
+import com.gestion.backend.services.UserProvisioningService;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvMalformedLineException;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk version of AuthRestController.register: rows are read as a stream and handled in chunks,
+ * with set-based existence checks, hashing on the bounded BCrypt pool and batched inserts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final TrainerRepository trainerRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final CachingUserDetailsService userDetailsCache;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Override
+    public ImportReport provisionCsv(InputStream in) {
+        ImportReport report = new ImportReport();
+        Set<String> seen = new HashSet<>();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] header = reader.readNext();
+            if (header == null) {
+                return report;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            String[] line;
+            int lineNumber = 1;
+            while ((line = reader.readNext()) != null) {
+                lineNumber++;
+                RegisterRequest request = new RegisterRequest(
+                        column(line, columns, "username"),
+                        column(line, columns, "password"),
+                        column(line, columns, "firstname"),
+                        column(line, columns, "lastname"),
+                        column(line, columns, "email"),
+                        column(line, columns, "role"));
+                chunk.add(new Row(lineNumber, request));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, seen, report);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, seen, report);
+        } catch (CsvMalformedLineException | CsvValidationException e) {
+            throw new BadRequestException("Invalid CSV: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return report;
+    }
+
+    @Override
+    public ImportReport provisionNdjson(InputStream in) {
+        ImportReport report = new ImportReport();
+        Set<String> seen = new HashSet<>();
+        try (MappingIterator<RegisterRequest> it = objectMapper.readerFor(RegisterRequest.class).readValues(in)) {
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            int lineNumber = 0;
+            while (it.hasNextValue()) {
+                lineNumber++;
+                chunk.add(new Row(lineNumber, it.nextValue()));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, seen, report);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, seen, report);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid NDJSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return report;
+    }
+
+    private void processChunk(List<Row> chunk, Set<String> seen, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> valid = new ArrayList<>();
+        for (Row row : chunk) {
+            String error = validate(row, seen);
+            if (error != null) {
+                report.failure(row.line, row.request.getUsername(), error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // Set-based checks against what is already in the database. MySQL compares the IN lists
+        // case-insensitively and returns the stored casing, so usernames are compared lowercased too
+        Set<String> existingUsernames = userRepository.findExistingUsernames(
+                        valid.stream().map(r -> r.request.getUsername()).collect(Collectors.toSet()))
+                .stream().map(UserProvisioningServiceImpl::usernameKey).collect(Collectors.toSet());
+        // Keyed by normalized email, like the in-file duplicate check (MySQL compares the IN list case-insensitively)
+        Map<String, Long> existingStudents = studentRepository.findByEmailIn(emailsFor(valid, User.Role.STUDENT))
+                .stream().collect(Collectors.toMap(s -> normalize(s.getEmail()), Student::getId, (a, b) -> a));
+        Map<String, Long> existingTrainers = trainerRepository.findByEmailIn(emailsFor(valid, User.Role.TRAINER))
+                .stream().collect(Collectors.toMap(t -> normalize(t.getEmail()), Trainer::getId, (a, b) -> a));
+        Set<Long> linkedStudents = new HashSet<>(userRepository.findLinkedStudentIds(existingStudents.values()));
+        Set<Long> linkedTrainers = new HashSet<>(userRepository.findLinkedTrainerIds(existingTrainers.values()));
+
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : valid) {
+            String email = row.email;
+            if (existingUsernames.contains(usernameKey(row.request.getUsername()))) {
+                report.failure(row.line, row.request.getUsername(), "Username already exists");
+            } else if (row.role == User.Role.STUDENT && linkedStudents.contains(existingStudents.get(email))) {
+                report.failure(row.line, row.request.getUsername(), "An account already exists for this student");
+            } else if (row.role == User.Role.TRAINER && linkedTrainers.contains(existingTrainers.get(email))) {
+                report.failure(row.line, row.request.getUsername(), "An account already exists for this trainer");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates the cost of a row; the shared pool caps how much of it bulk work may take from logins
+        List<Supplier<String>> hashes = accepted.stream()
+                .map(r -> (Supplier<String>) () -> passwordEncoder.encode(r.request.getPassword()))
+                .toList();
+        List<String> encoded = passwordHashingExecutor.executeAll(hashes);
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).encodedPassword = encoded.get(i);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(accepted, existingStudents, existingTrainers));
+            accepted.forEach(r -> created(r, report));
+        } catch (RuntimeException e) {
+            // A row the checks could not catch rolls back the whole chunk: retried one by one so only it fails
+            log.warn("Provisioning chunk of {} rows failed, retrying row by row", accepted.size(), e);
+            for (Row row : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> insertChunk(List.of(row), existingStudents, existingTrainers));
+                    created(row, report);
+                } catch (RuntimeException rowError) {
+                    report.failure(row.line, row.request.getUsername(),
+                            "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private void created(Row row, ImportReport report) {
+        userDetailsCache.evict(row.request.getUsername());
+        report.success(row.line, row.request.getUsername(), row.role.name());
+    }
+
+    private void insertChunk(List<Row> rows, Map<String, Long> existingStudents, Map<String, Long> existingTrainers) {
+        // Ids come from the pooled generators, so Hibernate sends each saveAll as JDBC batches
+        LocalDate today = LocalDate.now();
+        long stamp = System.currentTimeMillis();
+        Map<String, Student> newStudents = new HashMap<>();
+        Map<String, Trainer> newTrainers = new HashMap<>();
+        for (Row row : rows) {
+            String email = row.email;
+            if (row.role == User.Role.STUDENT && !existingStudents.containsKey(email)) {
+                newStudents.put(email, Student.builder()
+                        .matricule("STU-" + stamp + "-" + row.line)
+                        .firstName(row.request.getFirstName())
+                        .lastName(row.request.getLastName())
+                        .email(email)
+                        .registrationDate(today)
+                        .build());
+            } else if (row.role == User.Role.TRAINER && !existingTrainers.containsKey(email)) {
+                newTrainers.put(email, Trainer.builder()
+                        .name(row.request.getFirstName() + " " + row.request.getLastName())
+                        .email(email)
+                        .specialty("General")
+                        .build());
+            }
+        }
+        studentRepository.saveAll(newStudents.values());
+        trainerRepository.saveAll(newTrainers.values());
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String email = row.email;
+            User user = User.builder()
+                    .username(row.request.getUsername())
+                    .password(row.encodedPassword)
+                    .role(row.role)
+                    .build();
+            if (row.role == User.Role.STUDENT) {
+                user.setStudentId(newStudents.containsKey(email)
+                        ? newStudents.get(email).getId()
+                        : existingStudents.get(email));
+            } else if (row.role == User.Role.TRAINER) {
+                user.setTrainerId(newTrainers.containsKey(email)
+                        ? newTrainers.get(email).getId()
+                        : existingTrainers.get(email));
+            }
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(Row row, Set<String> seen) {
+        RegisterRequest request = row.request;
+        if (isBlank(request.getUsername()) || isBlank(request.getPassword())) {
+            return "Username and password are required";
+        }
+        try {
+            row.role = User.Role.valueOf(request.getRole().trim().toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            return "Invalid role: " + request.getRole();
+        }
+        if (row.role != User.Role.ADMIN && isBlank(request.getEmail())) {
+            return "Email is required";
+        }
+        if (!seen.add("u:" + usernameKey(request.getUsername()))) {
+            return "Duplicate username in file";
+        }
+        if (row.role != User.Role.ADMIN) {
+            row.email = normalize(request.getEmail());
+            if (!seen.add("e:" + row.email)) {
+                return "Duplicate email in file";
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> emailsFor(List<Row> rows, User.Role role) {
+        return rows.stream().filter(r -> r.role == role).map(r -> r.email).collect(Collectors.toSet());
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String column(String[] line, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= line.length) {
+            return null;
+        }
+        String value = line[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class Row {
+        private final int line;
+        private final RegisterRequest request;
+        private User.Role role;
+        private String email;
+        private String encodedPassword;
+
+        private Row(int line, RegisterRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
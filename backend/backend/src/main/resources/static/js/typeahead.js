@@ -0,0 +1,70 @@
+/*
+ * Autocomplete for admin form pickers. Markup:
+ *   <input type="text" data-typeahead="/api/typeahead/students" data-target="studentId" list="...">
+ *   <input type="hidden" id="studentId" name="studentId">
+ * Suggestions are fetched as the user types and the chosen id is copied into the hidden input.
+ */
+(function () {
+    function debounce(fn, delay) {
+        var timer;
+        return function () {
+            var args = arguments;
+            clearTimeout(timer);
+            timer = setTimeout(function () { fn.apply(null, args); }, delay);
+        };
+    }
+
+    function text(s) {
+        return s.detail ? s.label + ' (' + s.detail + ')' : s.label;
+    }
+
+    function init(input) {
+        var hidden = document.getElementById(input.getAttribute('data-target'));
+        var list = document.createElement('datalist');
+        list.id = input.id + '-options';
+        input.setAttribute('list', list.id);
+        input.setAttribute('autocomplete', 'off');
+        input.parentNode.appendChild(list);
+        var byText = {};
+
+        var fetchSuggestions = debounce(function (q) {
+            fetch(input.getAttribute('data-typeahead') + '?limit=10&q=' + encodeURIComponent(q),
+                { credentials: 'same-origin' })
+                .then(function (r) { return r.ok ? r.json() : []; })
+                .then(function (suggestions) {
+                    list.innerHTML = '';
+                    byText = {};
+                    suggestions.forEach(function (s) {
+                        var option = document.createElement('option');
+                        option.value = text(s);
+                        byText[option.value] = s.id;
+                        list.appendChild(option);
+                    });
+                    select();
+                });
+        }, 150);
+
+        function select() {
+            var id = byText[input.value];
+            hidden.value = id !== undefined ? id : '';
+            input.setCustomValidity(hidden.value || !input.required ? '' : 'Choisissez une valeur dans la liste');
+        }
+
+        input.addEventListener('input', function () {
+            select();
+            if (input.value.trim().length > 0 && byText[input.value] === undefined) {
+                fetchSuggestions(input.value.trim());
+            }
+        });
+        // Pre-filled (edit forms): keep the existing id until the text changes
+        if (hidden.value) {
+            byText[input.value] = hidden.value;
+        } else if (input.required) {
+            input.setCustomValidity('Choisissez une valeur dans la liste');
+        }
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        document.querySelectorAll('input[data-typeahead]').forEach(init);
+    });
+})();
@@ -0,0 +1,118 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.User;
+import com.gestion.backend.security.CachingUserDetailsService;
+import com.gestion.backend.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingUserDetailsServiceTest {
+
+    private final CountingDelegate delegate = new CountingDelegate();
+
+    @Test
+    void repeatedLookupIsServedFromTheCache() {
+        delegate.add("alice");
+        CachingUserDetailsService cache = cache(10, Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+        UserDetails first = cache.loadUserByUsername("alice");
+        UserDetails second = cache.loadUserByUsername("alice");
+
+        Assertions.assertEquals(1, delegate.calls.get());
+        Assertions.assertEquals("alice", second.getUsername());
+        // Every caller gets its own copy of the cached user
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void entryExpiresAfterTtl() throws InterruptedException {
+        delegate.add("alice");
+        CachingUserDetailsService cache = cache(10, Duration.ofMillis(50), Duration.ofMinutes(1));
+
+        cache.loadUserByUsername("alice");
+        Thread.sleep(80);
+        cache.loadUserByUsername("alice");
+
+        Assertions.assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    void unknownUsernameIsCachedForTheNegativeTtl() throws InterruptedException {
+        CachingUserDetailsService cache = cache(10, Duration.ofMinutes(10), Duration.ofMillis(50));
+
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> cache.loadUserByUsername("ghost"));
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> cache.loadUserByUsername("ghost"));
+        Assertions.assertEquals(1, delegate.calls.get());
+        Assertions.assertEquals(1, cache.getNegativeHits());
+
+        // Registered meanwhile: found once the negative entry has expired
+        delegate.add("ghost");
+        Thread.sleep(80);
+        Assertions.assertEquals("ghost", cache.loadUserByUsername("ghost").getUsername());
+        Assertions.assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    void sizeStaysBounded() {
+        CachingUserDetailsService cache = cache(10, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        for (int i = 0; i < 50; i++) {
+            delegate.add("user" + i);
+            cache.loadUserByUsername("user" + i);
+            Assertions.assertTrue(cache.size() <= 10, "Cache grew to " + cache.size());
+        }
+        Assertions.assertTrue(cache.getEvictions() >= 40);
+    }
+
+    @Test
+    void evictDropsTheEntryWhateverTheCase() {
+        delegate.add("alice");
+        CachingUserDetailsService cache = cache(10, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        cache.loadUserByUsername("Alice");
+
+        cache.evict("alice");
+        cache.loadUserByUsername("alice");
+
+        Assertions.assertEquals(2, delegate.calls.get());
+        Assertions.assertEquals(1, cache.getEvictions());
+    }
+
+    private CachingUserDetailsService cache(int maxSize, Duration ttl, Duration negativeTtl) {
+        return new CachingUserDetailsService(delegate, maxSize, ttl, negativeTtl);
+    }
+
+    /**
+     * Stands in for the repository lookup, case-insensitive like the MySQL collation.
+     */
+    private static class CountingDelegate extends UserDetailsServiceImpl {
+        private final Map<String, User> users = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingDelegate() {
+            super(null);
+        }
+
+        void add(String username) {
+            users.put(username.toLowerCase(Locale.ROOT), User.builder().id((long) users.size() + 1).username(username)
+                    .password("x").role(User.Role.ADMIN).build());
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            calls.incrementAndGet();
+            User user = users.get(username.toLowerCase(Locale.ROOT));
+            if (user == null) {
+                throw new UsernameNotFoundException("User not found: " + username);
+            }
+            return user;
+        }
+    }
+}
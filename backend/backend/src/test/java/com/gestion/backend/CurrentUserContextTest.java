@@ -0,0 +1,103 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.CurrentUser;
+import com.gestion.backend.security.CurrentUserArgumentResolver;
+import com.gestion.backend.security.CurrentUserContext;
+import com.gestion.backend.security.JwtPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CurrentUserContextTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    // Only findByUsername is expected to be called, and only for principals the context can't read
+    private final UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(), new Class<?>[] { UserRepository.class }, (proxy, method, args) -> {
+                if (!method.getName().equals("findByUsername")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                lookups.incrementAndGet();
+                return Optional.of(User.builder().id(3L).username((String) args[0]).password("x")
+                        .role(User.Role.ADMIN).build());
+            });
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void jwtPrincipalIsReadWithoutQuery() {
+        authenticate(new JwtPrincipal(1L, "student", "STUDENT", 10L, null));
+        CurrentUserContext context = new CurrentUserContext(userRepository);
+
+        CurrentUser user = context.get();
+
+        Assertions.assertSame(user, context.get());
+        Assertions.assertEquals(1L, user.getUserId());
+        Assertions.assertEquals(User.Role.STUDENT, user.getRole());
+        Assertions.assertEquals(10L, user.getStudentId());
+        Assertions.assertEquals(0, lookups.get());
+    }
+
+    @Test
+    void sessionUserIsReadWithoutQuery() {
+        authenticate(User.builder().id(2L).username("trainer").password("x").role(User.Role.TRAINER)
+                .trainerId(20L).build());
+        CurrentUserContext context = new CurrentUserContext(userRepository);
+
+        CurrentUser user = context.get();
+
+        Assertions.assertSame(user, context.get());
+        Assertions.assertEquals(2L, user.getUserId());
+        Assertions.assertEquals(20L, user.getTrainerId());
+        Assertions.assertEquals(0, lookups.get());
+    }
+
+    @Test
+    void otherPrincipalIsLookedUpOncePerRequest() {
+        authenticate(org.springframework.security.core.userdetails.User.withUsername("admin").password("x")
+                .roles("ADMIN").build());
+        CurrentUserContext context = new CurrentUserContext(userRepository);
+        CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver(context);
+
+        Object first = resolver.resolveArgument(null, null, null, null);
+        Object second = resolver.resolveArgument(null, null, null, null);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals("admin", ((CurrentUser) first).getUsername());
+        Assertions.assertEquals(1, lookups.get());
+
+        // The next request gets a new context and resolves again
+        new CurrentUserContext(userRepository).get();
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void anonymousCallerIsRejected() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        CurrentUserContext context = new CurrentUserContext(userRepository);
+
+        Assertions.assertThrows(AuthenticationCredentialsNotFoundException.class, context::get);
+        Assertions.assertEquals(0, lookups.get());
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,137 @@
+package com.gestion.backend;
+
+import com.gestion.backend.datasource.ExportConnectionPool;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.JwtUtil;
+import com.gestion.backend.services.ExportService;
+import com.mysql.cj.jdbc.ServerPreparedStatement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exports write rows while the cursor is still open, and the cursor fetch stays on the export pool.
+ * Not transactional: the export reads on its own connection and only sees committed rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExportStreamingIntegrationTest {
+
+    private static final int STUDENTS = 5_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ExportConnectionPool exportConnectionPool;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Student> students = new ArrayList<>();
+    private User admin;
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAllInBatch(students);
+        if (admin != null) {
+            userRepository.delete(admin);
+        }
+    }
+
+    @Test
+    void exportStreamsRows() throws Exception {
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(Student.builder().matricule("EXP-" + i).firstName("Export").lastName("Student " + i)
+                    .email("export" + i + "@test.com").build());
+        }
+        studentRepository.saveAll(students);
+        long total = studentRepository.count();
+
+        CountingStream out = new CountingStream();
+        long rows = exportService.exportStudents(out, ExportService.Format.NDJSON);
+
+        Assertions.assertEquals(total, rows);
+        Assertions.assertEquals(total, out.lines);
+        // Rows reached the client in many pieces, not as one buffer at the end
+        Assertions.assertTrue(out.writes > rows / 1000, "Only " + out.writes + " writes");
+    }
+
+    @Test
+    void onlyExportPoolUsesServerSideStatements() throws Exception {
+        String sql = "SELECT id FROM students WHERE id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            // Client-side on the shared pool, no prepare round trip
+            Assertions.assertFalse(statement.isWrapperFor(ServerPreparedStatement.class));
+        }
+        try (Connection connection = exportConnectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            // Required for the fetch size to open a server-side cursor
+            Assertions.assertTrue(statement.isWrapperFor(ServerPreparedStatement.class));
+        }
+    }
+
+    @Test
+    void unknownFormatIsBadRequest() throws Exception {
+        admin = userRepository.save(User.builder().username("export-admin").password("x")
+                .role(User.Role.ADMIN).build());
+
+        mockMvc.perform(get("/api/exports/students").param("format", "xml")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(admin)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Discards the export, counting lines and writes.
+     */
+    private static final class CountingStream extends OutputStream {
+        private long lines;
+        private long writes;
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writes++;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.gestion.backend;
+
+import com.gestion.backend.controllers.api.CourseRestController;
+import com.gestion.backend.controllers.api.EnrollmentRestController;
+import com.gestion.backend.controllers.api.PlanningRestController;
+import com.gestion.backend.controllers.api.StudentGradeRestController;
+import com.gestion.backend.entities.*;
+import com.gestion.backend.security.CurrentUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The list endpoints must issue the same number of statements whatever the number of rows (no N+1).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class FetchPlanIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRestController courseRestController;
+
+    @Autowired
+    private EnrollmentRestController enrollmentRestController;
+
+    @Autowired
+    private StudentGradeRestController gradeRestController;
+
+    @Autowired
+    private PlanningRestController planningRestController;
+
+    private Statistics statistics;
+    private Trainer trainer;
+    private Student student;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        trainer = Trainer.builder().name("Fetch Trainer").email("fetch.trainer@test.com").specialty("Java").build();
+        entityManager.persist(trainer);
+        Specialty specialty = Specialty.builder().name("Fetch Specialty").build();
+        entityManager.persist(specialty);
+        StudentGroup group = StudentGroup.builder().name("Fetch Group").specialty(specialty).build();
+        entityManager.persist(group);
+        student = Student.builder().firstName("Fetch").lastName("Student").email("fetch.student@test.com")
+                .group(group).build();
+        entityManager.persist(student);
+    }
+
+    @Test
+    void courseListStatementsStayConstant() {
+        assertConstant(() -> courseRestController.getAllCourses());
+    }
+
+    @Test
+    void studentEnrollmentsStatementsStayConstant() {
+        assertConstant(() -> enrollmentRestController.getStudentEnrollments(student.getId()));
+    }
+
+    @Test
+    void studentGradesStatementsStayConstant() {
+        assertConstant(() -> gradeRestController.getStudentGrades(student.getId()));
+    }
+
+    @Test
+    void trainerScheduleStatementsStayConstant() {
+        assertConstant(() -> planningRestController.getTrainerSchedule(trainer.getId()));
+    }
+
+    @Test
+    void studentScheduleStatementsStayConstant() {
+        CurrentUser currentUser = new CurrentUser(null, "fetch.student", User.Role.STUDENT, student.getId(), null);
+        assertConstant(() -> planningRestController.getMySchedule(currentUser));
+    }
+
+    private void assertConstant(Runnable endpoint) {
+        seed(3);
+        long few = count(endpoint);
+        seed(30);
+        long many = count(endpoint);
+        Assertions.assertEquals(few, many, "Statement count grows with the number of rows");
+    }
+
+    private long count(Runnable endpoint) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        endpoint.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Every row gets its own course, specialty and group so per-row association loads would show up
+    private void seed(int rows) {
+        Trainer managedTrainer = entityManager.getReference(Trainer.class, trainer.getId());
+        Student managedStudent = entityManager.getReference(Student.class, student.getId());
+        StudentGroup studentGroup = entityManager.find(Student.class, student.getId()).getGroup();
+        for (int i = 0; i < rows; i++) {
+            int n = seeded++;
+            Specialty specialty = Specialty.builder().name("Fetch Specialty " + n).build();
+            entityManager.persist(specialty);
+            Course course = Course.builder().code("FETCH-" + n).title("Course " + n)
+                    .trainer(managedTrainer).specialty(specialty).build();
+            entityManager.persist(course);
+            entityManager.persist(Enrollment.builder().student(managedStudent).course(course)
+                    .enrollmentDate(LocalDate.now()).build());
+            entityManager.persist(Grade.builder().student(managedStudent).course(course).value(12.0).build());
+            entityManager.persist(Seance.builder().course(course).group(studentGroup)
+                    .date(LocalDate.now().plusDays(n)).startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(10, 0))
+                    .room("R" + n).build());
+        }
+    }
+}
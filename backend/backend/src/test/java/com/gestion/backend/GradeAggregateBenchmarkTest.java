@@ -0,0 +1,151 @@
+package com.gestion.backend;
+
+import com.gestion.backend.dtos.GradeStats;
+import com.gestion.backend.entities.*;
+import com.gestion.backend.repositories.GradeRepository;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.ReportService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares loading every grade, the aggregate query and the course_stats lookup on 10k grades for one course.
+ * Timings are logged, the assertions only check all three give the same numbers.
+ */
+@SpringBootTest
+@Transactional
+@Tag("benchmark")
+@Slf4j
+public class GradeAggregateBenchmarkTest {
+
+    private static final int GRADES = 10_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private GradeStatsService gradeStatsService;
+
+    private Course course;
+    private List<Long> studentIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Specialty specialty = Specialty.builder().name("Bench Specialty").build();
+        entityManager.persist(specialty);
+        StudentGroup group = StudentGroup.builder().name("Bench Group").specialty(specialty).build();
+        entityManager.persist(group);
+        course = Course.builder().code("BENCH-1").title("Bench Course").specialty(specialty).build();
+        entityManager.persist(course);
+        Long groupId = group.getId();
+        Long courseId = course.getId();
+        for (int i = 0; i < GRADES; i++) {
+            Student student = Student.builder().matricule("BENCH-" + i).firstName("Bench")
+                    .lastName("Student " + i).email("bench" + i + "@test.com")
+                    .group(entityManager.getReference(StudentGroup.class, groupId)).build();
+            entityManager.persist(student);
+            entityManager.persist(Grade.builder().student(student)
+                    .course(entityManager.getReference(Course.class, courseId))
+                    .value((double) (i * 7 % 21)).build());
+            studentIds.add(student.getId());
+            if (i % 500 == 499) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // Grades were inserted directly, the statistics tables are filled the way the nightly job would
+        gradeStatsService.reconcile();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void courseStatsMatchAndAreTimed() {
+        DoubleSummaryStatistics legacy = null;
+        long passedLegacy = 0;
+        long legacyNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            List<Grade> grades = gradeRepository.findByCourseId(course.getId());
+            legacy = grades.stream().mapToDouble(Grade::getValue).summaryStatistics();
+            passedLegacy = grades.stream().filter(g -> g.getValue() >= 10).count();
+            legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+        }
+
+        GradeRepository.GradeAggregateView aggregate = null;
+        long aggregateNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            aggregate = gradeRepository.aggregateByCourseId(course.getId());
+            aggregateNanos = Math.min(aggregateNanos, System.nanoTime() - start);
+        }
+
+        GradeStats stats = null;
+        long tableNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            stats = reportService.getCourseStats(course.getId());
+            tableNanos = Math.min(tableNanos, System.nanoTime() - start);
+        }
+
+        log.info("Course stats over {} grades: entities {} ms, aggregate {} ms, stats table {} ms",
+                GRADES, millis(legacyNanos), millis(aggregateNanos), millis(tableNanos));
+        Assertions.assertEquals(legacy.getCount(), aggregate.getTotal());
+        Assertions.assertEquals(legacy.getAverage(), aggregate.getAverage(), 1e-9);
+        Assertions.assertEquals(passedLegacy, aggregate.getPassed());
+        Assertions.assertEquals(legacy.getCount(), stats.getCount());
+        Assertions.assertEquals(legacy.getAverage(), stats.getAverage(), 1e-9);
+        Assertions.assertEquals(legacy.getMin(), stats.getMin());
+        Assertions.assertEquals(legacy.getMax(), stats.getMax());
+        Assertions.assertEquals(passedLegacy, stats.getPassed());
+        Assertions.assertEquals((double) passedLegacy / GRADES * 100,
+                reportService.calculateCourseSuccessRate(course.getId()), 1e-9);
+    }
+
+    @Test
+    void batchGpaMatchesPerStudentGpa() {
+        List<Long> sample = studentIds.subList(0, 200);
+
+        long start = System.nanoTime();
+        Map<Long, Double> batch = reportService.calculateStudentGpas(sample);
+        long batchNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (Long id : sample) {
+            Assertions.assertEquals(reportService.calculateStudentGpa(id), batch.get(id), 1e-9);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        log.info("GPA for {} students: one GROUP BY {} ms, one query each {} ms",
+                sample.size(), millis(batchNanos), millis(singleNanos));
+        Assertions.assertEquals(0.0, reportService.calculateStudentGpas(List.of(-1L)).get(-1L));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
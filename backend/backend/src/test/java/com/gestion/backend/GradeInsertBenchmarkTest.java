@@ -0,0 +1,122 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Inserts 100k grades through Hibernate with the pooled grades_seq generator, and the way an IDENTITY
+ * mapping does it: one statement per row reading the AUTO_INCREMENT key back. The IDENTITY side goes
+ * through JdbcTemplate, a second entity on the grades table would be mapped in every test context.
+ * Timings are logged; the pooled run must send its inserts in JDBC batches and finish first.
+ */
+@SpringBootTest
+@Transactional
+@Tag("benchmark")
+@Slf4j
+public class GradeInsertBenchmarkTest {
+
+    private static final int GRADES = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long studentId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        Specialty specialty = Specialty.builder().name("Insert Bench Specialty").build();
+        entityManager.persist(specialty);
+        StudentGroup group = StudentGroup.builder().name("Insert Bench Group").specialty(specialty).build();
+        entityManager.persist(group);
+        Course course = Course.builder().code("INS-BENCH").title("Insert Bench Course").specialty(specialty).build();
+        entityManager.persist(course);
+        Student student = Student.builder().matricule("INS-BENCH-1").firstName("Insert").lastName("Bench")
+                .email("insert.bench@test.com").group(group).build();
+        entityManager.persist(student);
+        entityManager.flush();
+        entityManager.clear();
+        studentId = student.getId();
+        courseId = course.getId();
+    }
+
+    @Test
+    void pooledSequenceBatchesAndBeatsIdentity() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Pooled first: MySQL moves AUTO_INCREMENT past explicit ids, not the other way round
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < GRADES; i++) {
+            entityManager.persist(Grade.builder().value((double) (i % 21))
+                    .student(entityManager.getReference(Student.class, studentId))
+                    .course(entityManager.getReference(Course.class, courseId)).build());
+            flushEvery(i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long pooledNanos = System.nanoTime() - start;
+        long pooledStatements = statistics.getPrepareStatementCount();
+
+        // What Hibernate sends for an IDENTITY id: no batching, the generated key is read after each insert
+        start = System.nanoTime();
+        long identityStatements = 0;
+        for (int i = 0; i < GRADES; i++) {
+            double value = i % 21;
+            KeyHolder key = new GeneratedKeyHolder();
+            identityStatements += jdbcTemplate.update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO grades (value, student_id, course_id) VALUES (?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS);
+                insert.setDouble(1, value);
+                insert.setLong(2, studentId);
+                insert.setLong(3, courseId);
+                return insert;
+            }, key);
+            Assertions.assertNotNull(key.getKey());
+        }
+        long identityNanos = System.nanoTime() - start;
+
+        log.info("{} grade inserts: IDENTITY {} ms ({} statements), pooled sequence + batching {} ms ({} statements)",
+                GRADES, identityNanos / 1_000_000, identityStatements, pooledNanos / 1_000_000, pooledStatements);
+        Assertions.assertEquals(2L * GRADES, entityManager.createQuery(
+                "SELECT COUNT(g) FROM Grade g WHERE g.course.id = :courseId", Long.class)
+                .setParameter("courseId", courseId).getSingleResult());
+        Assertions.assertEquals(GRADES, identityStatements);
+        // One statement per batch of 50 plus one grades_seq round trip per 50 ids
+        Assertions.assertTrue(pooledStatements < GRADES / 10,
+                "Pooled inserts were not batched: " + pooledStatements + " statements");
+        Assertions.assertTrue(pooledNanos < identityNanos);
+    }
+
+    private void flushEvery(int i) {
+        if (i % FLUSH_EVERY == FLUSH_EVERY - 1) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
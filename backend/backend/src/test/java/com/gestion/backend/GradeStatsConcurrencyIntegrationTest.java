@@ -0,0 +1,109 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.Course;
+import com.gestion.backend.entities.Specialty;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.repositories.CourseRepository;
+import com.gestion.backend.repositories.SpecialtyRepository;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.services.CourseService;
+import com.gestion.backend.services.GradeService;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grade writes committed while the reconciliation holds its locks: both take the stats rows in the same
+ * order, so neither is rolled back as a deadlock victim. Not transactional, each side commits on its own.
+ */
+@SpringBootTest
+public class GradeStatsConcurrencyIntegrationTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeStatsService gradeStatsService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    private Specialty specialty;
+    private Course course;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        specialty = specialtyRepository.save(Specialty.builder().name("Concurrency Specialty").build());
+        course = courseRepository.save(Course.builder().code("CONC-1").title("Concurrency Course")
+                .specialty(specialty).build());
+        student = studentRepository.save(Student.builder().matricule("CONC-A").firstName("Concurrent")
+                .lastName("Writer").email("conc-a@test.com").build());
+        // Both stats rows exist, so the grade writes below only lock them
+        gradeService.assignGrade(student.getId(), course.getId(), 10.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentService.delete(student.getId());
+        courseService.delete(course.getId());
+        specialtyRepository.deleteById(specialty.getId());
+    }
+
+    @Test
+    void gradeWritesRunAlongsideReconcile() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < ROUNDS; i++) {
+                CountDownLatch start = new CountDownLatch(1);
+                double value = i % 20;
+                Future<?> reconcile = pool.submit(() -> {
+                    start.await();
+                    return gradeStatsService.reconcile();
+                });
+                Future<?> write = pool.submit(() -> {
+                    start.await();
+                    return gradeService.assignGrade(student.getId(), course.getId(), value);
+                });
+                start.countDown();
+                // A deadlock victim would surface here as an ExecutionException
+                reconcile.get(30, TimeUnit.SECONDS);
+                write.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assertions.assertFalse(gradeStatsService.reconcile().hasDrift());
+        Assertions.assertEquals(ROUNDS + 1,
+                gradeStatsService.getStudentStats(student.getId()).orElseThrow().getCount());
+        Assertions.assertEquals(ROUNDS + 1,
+                gradeStatsService.getCourseStats(course.getId()).orElseThrow().getCount());
+    }
+}
@@ -0,0 +1,166 @@
+package com.gestion.backend;
+
+import com.gestion.backend.dtos.GradeSheetRequest;
+import com.gestion.backend.dtos.GradeSheetResult;
+import com.gestion.backend.dtos.StatsReconciliationReport;
+import com.gestion.backend.entities.*;
+import com.gestion.backend.repositories.CourseStatsRepository;
+import com.gestion.backend.repositories.StudentStatsRepository;
+import com.gestion.backend.services.GradeService;
+import com.gestion.backend.services.GradeStatsService;
+import com.gestion.backend.services.StudentService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * student_stats and course_stats follow every grade write, and the reconciliation finds nothing to fix.
+ */
+@SpringBootTest
+@Transactional
+public class GradeStatsIntegrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GradeStatsService gradeStatsService;
+
+    @Autowired
+    private StudentStatsRepository studentStatsRepository;
+
+    @Autowired
+    private CourseStatsRepository courseStatsRepository;
+
+    private Course course;
+    private Student first;
+    private Student second;
+
+    @BeforeEach
+    void setUp() {
+        Specialty specialty = Specialty.builder().name("Stats Specialty").build();
+        entityManager.persist(specialty);
+        course = Course.builder().code("STATS-1").title("Stats Course").specialty(specialty).build();
+        entityManager.persist(course);
+        first = student("STATS-A");
+        second = student("STATS-B");
+    }
+
+    @Test
+    void totalsFollowGradeWrites() {
+        Grade grade = gradeService.assignGrade(first.getId(), course.getId(), 8.0);
+        gradeService.assignGrade(second.getId(), course.getId(), 14.0);
+        assertCourse(2, 1, 11.0, 8.0, 14.0);
+
+        // The minimum goes away, it has to be found again from the grades
+        gradeService.updateGrade(grade.getId(), 16.0);
+        assertCourse(2, 2, 15.0, 14.0, 16.0);
+        Assertions.assertEquals(16.0, studentStatsRepository.findById(first.getId()).orElseThrow().average());
+
+        gradeService.submitGradeSheet(course.getId(), List.of(
+                new GradeSheetRequest.Entry(first.getId(), 10.0),
+                new GradeSheetRequest.Entry(second.getId(), 4.0)));
+        assertCourse(2, 1, 7.0, 4.0, 10.0);
+
+        Assertions.assertFalse(gradeStatsService.reconcile().hasDrift());
+    }
+
+    @Test
+    void firstGradeCreatesStatsRows() {
+        Assertions.assertTrue(studentStatsRepository.findById(first.getId()).isEmpty());
+        Assertions.assertTrue(courseStatsRepository.findById(course.getId()).isEmpty());
+
+        gradeService.assignGrade(first.getId(), course.getId(), 12.0);
+        assertCourse(1, 1, 12.0, 12.0, 12.0);
+        StudentStats stats = studentStatsRepository.findById(first.getId()).orElseThrow();
+        Assertions.assertEquals(1, stats.getCount());
+        Assertions.assertEquals(1, stats.getGradeVersion());
+
+        // The row exists now, creating it again is a no-op and the totals carry on
+        gradeStatsService.apply(List.of(GradeStatsService.GradeChange.added(first.getId(), course.getId(), 8.0)));
+        assertCourse(2, 1, 10.0, 8.0, 12.0);
+        Assertions.assertEquals(2, studentStatsRepository.findById(first.getId()).orElseThrow().getCount());
+    }
+
+    @Test
+    void resubmittedSheetLeavesUnchangedGradesAlone() {
+        gradeService.submitGradeSheet(course.getId(), List.of(
+                new GradeSheetRequest.Entry(first.getId(), 10.0),
+                new GradeSheetRequest.Entry(second.getId(), 4.0)));
+        entityManager.flush();
+        entityManager.clear();
+        long version = studentStatsRepository.findById(first.getId()).orElseThrow().getGradeVersion();
+
+        GradeSheetResult result = gradeService.submitGradeSheet(course.getId(), List.of(
+                new GradeSheetRequest.Entry(first.getId(), 10.0),
+                new GradeSheetRequest.Entry(second.getId(), 6.0)));
+
+        Assertions.assertEquals(1, result.getUnchanged());
+        Assertions.assertEquals(1, result.getUpdated());
+        Assertions.assertEquals(GradeSheetResult.Status.UNCHANGED, result.getOutcomes().stream()
+                .filter(o -> o.getStudentId().equals(first.getId())).findFirst().orElseThrow().getStatus());
+        assertCourse(2, 1, 8.0, 6.0, 10.0);
+        // Transcript of the untouched student keeps its cache tag
+        Assertions.assertEquals(version, studentStatsRepository.findById(first.getId()).orElseThrow().getGradeVersion());
+    }
+
+    @Test
+    void deletingStudentUpdatesCourseTotals() {
+        gradeService.assignGrade(first.getId(), course.getId(), 12.0);
+        gradeService.assignGrade(second.getId(), course.getId(), 6.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        studentService.delete(second.getId());
+
+        assertCourse(1, 1, 12.0, 12.0, 12.0);
+        Assertions.assertTrue(studentStatsRepository.findById(second.getId()).isEmpty());
+    }
+
+    @Test
+    void reconciliationRepairsDrift() {
+        gradeService.assignGrade(first.getId(), course.getId(), 12.0);
+        entityManager.flush();
+        CourseStats stats = courseStatsRepository.findById(course.getId()).orElseThrow();
+        stats.setCount(5);
+        entityManager.flush();
+
+        StatsReconciliationReport report = gradeStatsService.reconcile();
+
+        Assertions.assertTrue(report.getCoursesDrifted() >= 1);
+        assertCourse(1, 1, 12.0, 12.0, 12.0);
+    }
+
+    private void assertCourse(int count, int passed, double average, double min, double max) {
+        entityManager.flush();
+        entityManager.clear();
+        CourseStats stats = courseStatsRepository.findById(course.getId()).orElseThrow();
+        Assertions.assertEquals(count, stats.getCount());
+        Assertions.assertEquals(passed, stats.getPassCount());
+        Assertions.assertEquals(average, stats.average(), 1e-9);
+        Assertions.assertEquals(min, stats.getMin());
+        Assertions.assertEquals(max, stats.getMax());
+    }
+
+    private Student student(String matricule) {
+        Student student = Student.builder().matricule(matricule).firstName("Stats").lastName(matricule)
+                .email(matricule.toLowerCase() + "@test.com").registrationDate(LocalDate.now()).build();
+        entityManager.persist(student);
+        entityManager.persist(Enrollment.builder().student(student).course(course)
+                .enrollmentDate(LocalDate.now()).build());
+        return student;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.Trainer;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.TrainerRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.services.IdentityLinkService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Unlinked accounts predate the studentId/trainerId checks on User, so they are inserted with plain SQL.
+ */
+@SpringBootTest
+@Transactional
+public class IdentityLinkIntegrationTest {
+
+    @Autowired
+    private IdentityLinkService identityLinkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Student student;
+    private Student otherStudent;
+    private Trainer trainer;
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(Student.builder().matricule("LINK-1").firstName("Link")
+                .lastName("One").email("link.one@test.com").build());
+        otherStudent = studentRepository.save(Student.builder().matricule("LINK-2").firstName("Link")
+                .lastName("Two").email("link.two@test.com").build());
+        trainer = trainerRepository.save(Trainer.builder().name("Link Trainer").email("link.trainer@test.com").build());
+        entityManager.flush();
+    }
+
+    @Test
+    void backfillLinksByEmailAndMatricule() {
+        insertUnlinked("link.one@test.com", User.Role.STUDENT);
+        insertUnlinked("LINK-2", User.Role.STUDENT);
+        insertUnlinked("link.trainer@test.com", User.Role.TRAINER);
+
+        Assertions.assertTrue(identityLinkService.backfill() >= 3);
+        entityManager.clear();
+
+        Assertions.assertEquals(student.getId(), userRepository.findByUsername("link.one@test.com").orElseThrow().getStudentId());
+        Assertions.assertEquals(otherStudent.getId(), userRepository.findByUsername("LINK-2").orElseThrow().getStudentId());
+        Assertions.assertEquals(trainer.getId(),
+                userRepository.findByUsername("link.trainer@test.com").orElseThrow().getTrainerId());
+    }
+
+    @Test
+    void loginLinksOnceAndNeverSteals() {
+        insertUnlinked("link.one@test.com", User.Role.STUDENT);
+        // Same student through its matricule: the first account keeps it
+        insertUnlinked("LINK-1", User.Role.STUDENT);
+        entityManager.clear();
+        long attempts = identityLinkService.getLoginLinkAttempts();
+        long successes = identityLinkService.getLoginLinkSuccesses();
+
+        User linked = identityLinkService.linkOnLogin(userRepository.findByUsername("link.one@test.com").orElseThrow());
+        entityManager.flush();
+        User unlinked = identityLinkService.linkOnLogin(userRepository.findByUsername("LINK-1").orElseThrow());
+
+        Assertions.assertEquals(student.getId(), linked.getStudentId());
+        Assertions.assertNull(unlinked.getStudentId());
+        Assertions.assertEquals(attempts + 2, identityLinkService.getLoginLinkAttempts());
+        Assertions.assertEquals(successes + 1, identityLinkService.getLoginLinkSuccesses());
+    }
+
+    @Test
+    void oneAccountPerStudentAndTrainer() {
+        jdbcTemplate.update("INSERT INTO users (username, password, role, student_id, token_version) VALUES (?, 'x', 'STUDENT', ?, 0)",
+                "link.first", student.getId());
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO users (username, password, role, student_id, token_version) VALUES (?, 'x', 'STUDENT', ?, 0)",
+                "link.second", student.getId()));
+
+        jdbcTemplate.update("INSERT INTO users (username, password, role, trainer_id, token_version) VALUES (?, 'x', 'TRAINER', ?, 0)",
+                "link.trainer.first", trainer.getId());
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO users (username, password, role, trainer_id, token_version) VALUES (?, 'x', 'TRAINER', ?, 0)",
+                "link.trainer.second", trainer.getId()));
+    }
+
+    private void insertUnlinked(String username, User.Role role) {
+        jdbcTemplate.update("INSERT INTO users (username, password, role, token_version) VALUES (?, 'x', ?, 0)",
+                username, role.name());
+    }
+}
@@ -0,0 +1,61 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.User;
+import com.gestion.backend.security.JwtUtil;
+import com.gestion.backend.security.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Authenticated requests with the same few tokens, as a busy client sends them: HMAC verification and
+ * JSON parsing of every token against a lookup of the already verified claims.
+ */
+@Tag("benchmark")
+@Slf4j
+public class JwtParseBenchmarkTest {
+
+    private static final int TOKENS = 200;
+    private static final int REQUESTS = 200_000;
+
+    @Test
+    void cachedClaimsBeatParsingEveryRequest() {
+        // A size of 0 turns the cache off, every call verifies the signature again
+        JwtUtil parsing = new JwtUtil(new VerifiedTokenCache(0));
+        VerifiedTokenCache cache = new VerifiedTokenCache(10_000);
+        JwtUtil cached = new JwtUtil(cache);
+
+        List<String> tokens = new ArrayList<>();
+        for (long i = 0; i < TOKENS; i++) {
+            tokens.add(parsing.generateToken(User.builder().id(i).username("bench" + i).password("x")
+                    .role(User.Role.STUDENT).studentId(i).build()));
+        }
+        // Warm-up, also fills the cache
+        run(parsing, tokens, REQUESTS / 10);
+        run(cached, tokens, REQUESTS / 10);
+
+        long parseNanos = run(parsing, tokens, REQUESTS);
+        long cachedNanos = run(cached, tokens, REQUESTS);
+
+        log.info("{} token checks: parse every request {} ms ({} µs each), cached claims {} ms ({} µs each)",
+                REQUESTS, parseNanos / 1_000_000, parseNanos / 1_000 / REQUESTS,
+                cachedNanos / 1_000_000, cachedNanos / 1_000 / REQUESTS);
+        Assertions.assertEquals(TOKENS, cache.size());
+        Assertions.assertTrue(cache.getHits() >= REQUESTS);
+        Assertions.assertTrue(cachedNanos < parseNanos,
+                "Cached claims took " + cachedNanos / 1_000_000 + " ms, parsing " + parseNanos / 1_000_000 + " ms");
+    }
+
+    private static long run(JwtUtil jwtUtil, List<String> tokens, int requests) {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            String token = tokens.get(i % tokens.size());
+            Assertions.assertEquals("bench" + (i % tokens.size()), jwtUtil.parseToken(token).getUsername());
+        }
+        return System.nanoTime() - start;
+    }
+}
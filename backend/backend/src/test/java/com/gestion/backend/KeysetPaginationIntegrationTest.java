@@ -0,0 +1,120 @@
+package com.gestion.backend;
+
+import com.gestion.backend.dtos.PageResponse;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.exceptions.InvalidCursorException;
+import com.gestion.backend.pagination.KeysetPagination;
+import com.gestion.backend.repositories.StudentRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cursors resume the sort they were issued for, ties on the sort key are broken by id and tampered
+ * cursors are rejected as a 400 instead of reaching the query.
+ */
+@SpringBootTest
+@Transactional
+public class KeysetPaginationIntegrationTest {
+
+    private static final Set<String> SORTABLE = Set.of("id", "lastName", "matricule", "email");
+
+    @Autowired
+    private KeysetPagination pagination;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void pageSizeIsCapped() {
+        Assertions.assertEquals(50, pagination.request(null, null, null, SORTABLE, "lastName").limit().max());
+        Assertions.assertEquals(200, pagination.request(null, 10_000, null, SORTABLE, "lastName").limit().max());
+        Assertions.assertEquals(1, pagination.request(null, 0, null, SORTABLE, "lastName").limit().max());
+    }
+
+    @Test
+    void idIsAddedAsTieBreaker() {
+        Sort sort = pagination.request(null, null, "lastName,desc", SORTABLE, "lastName").sort();
+        Assertions.assertEquals(Sort.by(Sort.Direction.DESC, "lastName", "id"), sort);
+        Assertions.assertEquals(Sort.by("id"), pagination.request(null, null, "id", SORTABLE, "lastName").sort());
+        Assertions.assertThrows(InvalidCursorException.class,
+                () -> pagination.request(null, null, "password", SORTABLE, "lastName"));
+    }
+
+    @Test
+    void cursorRoundTripKeepsSortAndKeys() {
+        KeysetPagination.Request first = pagination.request(null, 2, "lastName,desc", SORTABLE, "lastName");
+        Window<String> window = Window.from(List.of("a", "b"),
+                i -> ScrollPosition.forward(Map.of("lastName", "Doe", "id", 40L + i)), true);
+
+        PageResponse<String> page = pagination.response(window, first, s -> s, null);
+
+        Assertions.assertTrue(page.isHasNext());
+        // The sort parameter is ignored once a cursor is given, the cursor carries its own
+        KeysetPagination.Request next = pagination.request(page.getNextCursor(), 2, "email", SORTABLE, "lastName");
+        Assertions.assertEquals("lastName,desc", next.sortSpec());
+        Assertions.assertEquals(Sort.by(Sort.Direction.DESC, "lastName", "id"), next.sort());
+        Assertions.assertEquals(Map.of("lastName", "Doe", "id", 41L), ((KeysetScrollPosition) next.position()).getKeys());
+
+        Window<String> last = Window.from(List.of("c"), i -> ScrollPosition.forward(Map.of("id", (long) i)), false);
+        Assertions.assertNull(pagination.response(last, next, s -> s, null).getNextCursor());
+    }
+
+    @Test
+    void pagesSplitTiesWithoutSkippingOrRepeating() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(studentRepository.save(Student.builder().matricule("KEYSET-" + i).firstName("Key")
+                    .lastName("Keyset").email("keyset" + i + "@test.com").build()).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPagination.Request request = pagination.request(cursor, 3, "lastName", SORTABLE, "lastName");
+            PageResponse<Long> page = pagination.response(
+                    studentRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                    request, Student::getId, null);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(seen.size(), new HashSet<>(seen).size(), "A row was returned twice");
+        Assertions.assertTrue(seen.containsAll(created));
+        // All seven share one last name, pages of three cut through them and they stay in id order
+        Assertions.assertEquals(created, seen.stream().filter(created::contains).toList());
+    }
+
+    @Test
+    void invalidCursorsAreRejected() {
+        for (String cursor : List.of("not-a-cursor!",
+                encode("{}"),
+                encode("{\"k\":[[\"id\",\"L\",\"1\"]]}"),
+                encode("{\"s\":7,\"k\":[[\"id\",\"L\",\"1\"]]}"),
+                encode("{\"s\":\"id\",\"k\":[[\"id\",\"X\",\"1\"]]}"),
+                encode("{\"s\":\"id\",\"k\":[[\"id\",\"L\",\"one\"]]}"),
+                encode("{\"s\":\"password\",\"k\":[[\"password\",\"S\",\"a\"],[\"id\",\"L\",\"1\"]]}"),
+                encode("{\"s\":\"lastName\",\"k\":[[\"password\",\"S\",\"a\"],[\"id\",\"L\",\"1\"]]}"))) {
+            Assertions.assertThrows(InvalidCursorException.class,
+                    () -> pagination.request(cursor, null, null, SORTABLE, "lastName"), cursor);
+        }
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
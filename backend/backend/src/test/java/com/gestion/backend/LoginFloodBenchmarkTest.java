@@ -0,0 +1,107 @@
+package com.gestion.backend;
+
+import com.gestion.backend.exceptions.ServiceBusyException;
+import com.gestion.backend.security.PasswordHashingExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A login flood: many more concurrent BCrypt checks than cores, run straight on the request threads and
+ * through PasswordHashingExecutor. Accepted logins on the bounded pool wait at most for the queue ahead
+ * of them, the rest fail fast with 503, so the p99 of the logins that are served stays low.
+ */
+@Tag("benchmark")
+@Slf4j
+public class LoginFloodBenchmarkTest {
+
+    private static final int CALLERS = 32;
+    private static final int LOGINS_PER_CALLER = 10;
+    private static final int QUEUE_CAPACITY = 8;
+
+    // Cheaper than the default strength so the benchmark finishes quickly, the ratio is what matters
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(6);
+    private final String hash = encoder.encode("secret");
+
+    @Test
+    void boundedPoolKeepsServedLoginsFast() throws Exception {
+        Supplier<Boolean> login = () -> encoder.matches("secret", hash);
+        // Warm-up
+        for (int i = 0; i < 20; i++) {
+            login.get();
+        }
+
+        List<Long> direct = flood(login::get, new AtomicInteger());
+
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(0, QUEUE_CAPACITY, Duration.ofSeconds(30), 2, 0);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Long> bounded;
+        try {
+            bounded = flood(() -> executor.execute(login), rejected);
+        } finally {
+            executor.shutdown();
+        }
+
+        log.info("{} callers x {} logins: direct p50 {} ms, p99 {} ms; bounded pool p50 {} ms, p99 {} ms, "
+                        + "{} served, {} answered 503",
+                CALLERS, LOGINS_PER_CALLER, millis(percentile(direct, 50)), millis(percentile(direct, 99)),
+                millis(percentile(bounded, 50)), millis(percentile(bounded, 99)), bounded.size(), rejected.get());
+        Assertions.assertEquals(CALLERS * LOGINS_PER_CALLER, bounded.size() + rejected.get());
+        Assertions.assertFalse(bounded.isEmpty());
+        Assertions.assertTrue(percentile(bounded, 99) < percentile(direct, 99));
+    }
+
+    /**
+     * Returns the latency of every login that was served; rejected ones are only counted.
+     */
+    private static List<Long> flood(Runnable login, AtomicInteger rejected) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        CyclicBarrier start = new CyclicBarrier(CALLERS);
+        List<Thread> callers = new ArrayList<>();
+        for (int c = 0; c < CALLERS; c++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < LOGINS_PER_CALLER; i++) {
+                    long begin = System.nanoTime();
+                    try {
+                        login.run();
+                        latencies.add(System.nanoTime() - begin);
+                    } catch (ServiceBusyException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        return latencies;
+    }
+
+    private static long percentile(List<Long> latencies, int percentile) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
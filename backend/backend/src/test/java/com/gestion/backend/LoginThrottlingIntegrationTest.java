@@ -0,0 +1,64 @@
+package com.gestion.backend;
+
+import com.gestion.backend.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With the hashing pool and its queue taken, a login is answered 503 with Retry-After right away
+ * instead of waiting for a servlet thread.
+ */
+@SpringBootTest(properties = { "app.password-hashing.threads=1", "app.password-hashing.queue-capacity=1",
+        "app.password-hashing.retry-after-seconds=3" })
+@AutoConfigureMockMvc
+public class LoginThrottlingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Test
+    void fullHashingQueueAnswers503WithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One hash running, one queued
+            for (int i = 0; i < 2; i++) {
+                Thread caller = new Thread(() -> passwordHashingExecutor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                }));
+                caller.setDaemon(true);
+                caller.start();
+            }
+            for (int i = 0; i < 500 && passwordHashingExecutor.getQueueDepth() < 1; i++) {
+                Thread.sleep(10);
+            }
+            Assertions.assertEquals(1, passwordHashingExecutor.getQueueDepth());
+
+            mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"username\":\"flood\",\"password\":\"secret\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+        } finally {
+            release.countDown();
+        }
+    }
+}
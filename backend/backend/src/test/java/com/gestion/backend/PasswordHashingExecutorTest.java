@@ -0,0 +1,109 @@
+package com.gestion.backend;
+
+import com.gestion.backend.exceptions.ServiceBusyException;
+import com.gestion.backend.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class PasswordHashingExecutorTest {
+
+    @Test
+    void fullQueueFailsFast() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(10), 7, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One task running, one queued
+            for (int i = 0; i < 2; i++) {
+                Thread caller = new Thread(() -> executor.execute(() -> await(release)));
+                caller.setDaemon(true);
+                caller.start();
+            }
+            waitUntil(() -> executor.getActiveCount() == 1 && executor.getQueueDepth() == 1);
+
+            ServiceBusyException busy = Assertions.assertThrows(ServiceBusyException.class,
+                    () -> executor.execute(() -> "login"));
+
+            Assertions.assertEquals(7, busy.getRetryAfterSeconds());
+            Assertions.assertEquals(1, executor.getRejected());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void slowTaskTimesOut() {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, Duration.ofMillis(50), 2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Assertions.assertThrows(ServiceBusyException.class, () -> executor.execute(() -> await(release)));
+            Assertions.assertEquals(1, executor.getTimedOut());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void failureOnCallingThreadCancelsSubmittedTasks() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(10), 2, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        try {
+            // The first task takes the only thread, the second waits in the queue and the third is
+            // rejected, so it runs on the calling thread, where it fails
+            List<Supplier<String>> tasks = List.of(
+                    () -> {
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                        }
+                        return "running";
+                    },
+                    () -> {
+                        queuedRan.set(true);
+                        return "queued";
+                    },
+                    () -> {
+                        await(started);
+                        throw new IllegalArgumentException("bad password");
+                    });
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> executor.executeAll(tasks));
+
+            Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Running task was not cancelled");
+            waitUntil(() -> executor.getQueueDepth() == 0 && executor.getActiveCount() == 0);
+            Assertions.assertFalse(queuedRan.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.get(); i++) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(condition.get(), "Condition not reached");
+    }
+}
@@ -0,0 +1,68 @@
+package com.gestion.backend;
+
+import com.gestion.backend.search.PrefixTrie;
+import com.gestion.backend.search.Suggestion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PrefixTrieTest {
+
+    private final PrefixTrie trie = new PrefixTrie();
+
+    @Test
+    void completesAnyWordOfLabelAndDetail() {
+        trie.put(new Suggestion(1L, "Dupont Jean", "STU-001"));
+        trie.put(new Suggestion(2L, "Durand Élodie", "STU-002"));
+        trie.put(new Suggestion(3L, "Martin Paul", "STU-003"));
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(trie.complete("du", 10)));
+        Assertions.assertEquals(List.of(2L), ids(trie.complete("ELO", 10)));
+        Assertions.assertEquals(List.of(3L), ids(trie.complete("stu 003", 10)));
+        Assertions.assertEquals(List.of(1L), ids(trie.complete("du", 1)));
+        Assertions.assertTrue(trie.complete("x", 10).isEmpty());
+        // A prefix reached through two words of the same entry is listed once
+        trie.put(new Suggestion(4L, "Paul Paulin", null));
+        Assertions.assertEquals(List.of(3L, 4L), ids(trie.complete("paul", 10)));
+    }
+
+    @Test
+    void earlierWordsNarrowTheCompletion() {
+        trie.put(new Suggestion(1L, "Dupont Jean", "STU-001"));
+        trie.put(new Suggestion(2L, "Dupont Jeanne", "STU-002"));
+        trie.put(new Suggestion(3L, "Dupuis Jean", "STU-003"));
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(trie.complete("jea dupo", 10)));
+        // Exact word first, then longer words in key order
+        Assertions.assertEquals(List.of(1L, 3L, 2L), ids(trie.complete("dup jean", 10)));
+        Assertions.assertEquals(List.of(3L), ids(trie.complete("dupuis j", 10)));
+        Assertions.assertTrue(trie.complete("martin du", 10).isEmpty());
+    }
+
+    @Test
+    void updateAndRemovePruneEmptyBranches() {
+        trie.put(new Suggestion(1L, "ab", null));
+        Assertions.assertEquals(2, trie.nodeCount());
+        trie.put(new Suggestion(2L, "abcd", null));
+        Assertions.assertEquals(4, trie.nodeCount());
+
+        // Renamed: the old words no longer lead to it, the shared prefix stays for the other entry
+        trie.put(new Suggestion(2L, "xy", null));
+        Assertions.assertEquals(List.of(1L), ids(trie.complete("ab", 10)));
+        Assertions.assertEquals(List.of(2L), ids(trie.complete("x", 10)));
+        Assertions.assertEquals(4, trie.nodeCount());
+
+        trie.remove(1L);
+        Assertions.assertEquals(2, trie.nodeCount());
+        Assertions.assertTrue(trie.complete("a", 10).isEmpty());
+        trie.remove(2L);
+        trie.remove(42L);
+        Assertions.assertEquals(0, trie.nodeCount());
+        Assertions.assertEquals(0, trie.size());
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.gestion.backend;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs EXPLAIN (MySQL) on the hot lookups and fails when one of them can no longer use an index.
+ * possible_keys is checked rather than the chosen key, the optimizer may still pick a scan on tiny tables.
+ */
+@SpringBootTest
+public class QueryPlanIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void enrollmentDuplicateCheckUsesIndex() {
+        assertIndexed("SELECT 1 FROM enrollments WHERE student_id = 1 AND course_id = 1",
+                "uk_enrollments_student_course");
+    }
+
+    @Test
+    void gradesByStudentUseIndex() {
+        assertIndexed("SELECT * FROM grades WHERE student_id = 1", "idx_grades_student_id");
+    }
+
+    @Test
+    void gradesByCourseUseIndex() {
+        assertIndexed("SELECT * FROM grades WHERE course_id = 1", "idx_grades_course_id");
+    }
+
+    @Test
+    void seancesByDateUseIndex() {
+        assertIndexed("SELECT * FROM seances WHERE date = CURRENT_DATE", "idx_seances_date");
+    }
+
+    @Test
+    void seancesByGroupAndDateUseIndex() {
+        assertIndexed("SELECT * FROM seances WHERE group_id = 1 AND date = CURRENT_DATE", "idx_seances_group_date");
+    }
+
+    @Test
+    void usersByUsernameUseIndex() {
+        assertIndexed("SELECT * FROM users WHERE username = 'admin'", null);
+    }
+
+    private void assertIndexed(String sql, String expectedIndex) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+        Assertions.assertFalse(plan.isEmpty(), "No plan for: " + sql);
+        Map<String, Object> row = plan.get(0);
+        Object possibleKeys = row.get("possible_keys");
+        Assertions.assertNotNull(possibleKeys, "Full scan for: " + sql + " -> " + row);
+        if (expectedIndex != null) {
+            Assertions.assertTrue(possibleKeys.toString().contains(expectedIndex),
+                    "Expected " + expectedIndex + " for: " + sql + " -> " + row);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gestion.backend;
+
+import com.gestion.backend.config.ReferenceResolver;
+import com.gestion.backend.entities.Specialty;
+import com.gestion.backend.repositories.SpecialtyRepository;
+import com.gestion.backend.services.SpecialtyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * A bound id is looked up at most once per request, and reference entities come from the second-level cache.
+ * Not transactional: cache entries are only written when a transaction commits.
+ */
+@SpringBootTest
+public class ReferenceResolverIntegrationTest {
+
+    @Autowired
+    private ReferenceResolver referenceResolver;
+
+    @Autowired
+    private SpecialtyService specialtyService;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Specialty specialty;
+
+    @BeforeEach
+    void setUp() {
+        specialty = specialtyService.createSpecialty(Specialty.builder().name("Resolver Specialty").build());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("POST", "/admin/advanced/groups")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        specialtyRepository.deleteById(specialty.getId());
+    }
+
+    @Test
+    void boundIdIsResolvedOncePerRequestWithoutQuery() {
+        String id = String.valueOf(specialty.getId());
+        // Loaded once, so the entry is in the second-level cache
+        specialtyService.findById(specialty.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long memoHits = referenceResolver.getMemoHits();
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("Resolver Specialty", referenceResolver.resolve(Specialty.class, id).getName());
+        }
+
+        Assertions.assertEquals(2, referenceResolver.getMemoHits() - memoHits);
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void blankOrUnknownIdResolvesToNull() {
+        Assertions.assertNull(referenceResolver.resolve(Specialty.class, ""));
+        Assertions.assertNull(referenceResolver.resolve(Specialty.class, "null"));
+        Assertions.assertNull(referenceResolver.resolve(Specialty.class, "-1"));
+    }
+}
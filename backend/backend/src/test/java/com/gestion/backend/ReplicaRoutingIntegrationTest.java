@@ -0,0 +1,58 @@
+package com.gestion.backend;
+
+import com.gestion.backend.datasource.ReplicaRoutingDataSource;
+import com.gestion.backend.repositories.SpecialtyRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Read-only transactions use the healthy replica, the unreachable one is never picked,
+ * and read-write transactions stay on the primary. The "replica" is the primary database under another pool.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].name=replica-ok",
+        "app.datasource.routing.replicas[0].url=${spring.datasource.url}",
+        "app.datasource.routing.replicas[1].name=replica-down",
+        "app.datasource.routing.replicas[1].url=jdbc:mysql://localhost:1/mydb",
+        "app.datasource.routing.connection-timeout=PT1S" })
+public class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Test
+    void readOnlyTransactionsUseHealthyReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        long replicaBefore = routed("replica-ok");
+        long primaryBefore = routed("primary");
+        for (int i = 0; i < 4; i++) {
+            readOnly.executeWithoutResult(status -> specialtyRepository.count());
+        }
+        Assertions.assertTrue(routed("replica-ok") >= replicaBefore + 4);
+        Assertions.assertEquals(0, routed("replica-down"));
+
+        readWrite.executeWithoutResult(status -> specialtyRepository.count());
+        Assertions.assertTrue(routed("primary") >= primaryBefore + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long routed(String route) {
+        return (long) ((Map<String, Object>) routingDataSource.getRoutes().get(route)).get("routed");
+    }
+}
@@ -0,0 +1,80 @@
+package com.gestion.backend;
+
+import com.gestion.backend.dtos.ReportJobStatus;
+import com.gestion.backend.exceptions.ResourceNotFoundException;
+import com.gestion.backend.services.ReportJobService;
+import com.gestion.backend.services.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Jobs for the same report are shared, results land on disk, and expired ones are removed with their file.
+ * Startup only clears the files the service names itself. The TTL is zero so a finished job expires on the
+ * next cleanup.
+ */
+@SpringBootTest(properties = { "app.report-jobs.ttl=PT0S", "app.report-jobs.cleanup-interval-ms=3600000" })
+public class ReportJobServiceIntegrationTest {
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Test
+    void sameReportIsSharedAndExpires() throws Exception {
+        ReportJobStatus first = reportJobService.submit(ReportJobService.Type.COURSE_STATS, null);
+        ReportJobStatus second = reportJobService.submit(ReportJobService.Type.COURSE_STATS, 42L);
+        Assertions.assertEquals(first.getId(), second.getId());
+
+        ReportJobStatus status = awaitFinished(first.getId());
+        Assertions.assertEquals(ReportJobService.State.DONE, status.getState());
+        Assertions.assertNotNull(status.getRunMillis());
+        ReportJobService.Result result = reportJobService.getResult(first.getId());
+        Assertions.assertTrue(Files.readString(result.file(), StandardCharsets.UTF_8).contains("course_id"));
+        Assertions.assertEquals(status.getSizeBytes(), Files.size(result.file()));
+
+        Thread.sleep(5);
+        Assertions.assertTrue(reportJobService.removeExpired() >= 1);
+        Assertions.assertFalse(Files.exists(result.file()));
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> reportJobService.getStatus(first.getId()));
+    }
+
+    @Test
+    void unknownGroupIsRejectedOnSubmit() {
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> reportJobService.submit(ReportJobService.Type.GROUP_TRANSCRIPTS, -1L));
+    }
+
+    @Test
+    void startupOnlyRemovesJobFiles(@TempDir Path directory) throws Exception {
+        Path leftover = Files.createFile(directory.resolve(UUID.randomUUID() + ".zip"));
+        Path partial = Files.createFile(directory.resolve(UUID.randomUUID() + ".tmp"));
+        Path foreign = Files.createFile(directory.resolve("backup.zip"));
+
+        ReportJobServiceImpl service = new ReportJobServiceImpl(null, null, null, 1, 1, directory.toString(),
+                Duration.ofHours(1), Duration.ofMinutes(5), 30);
+        service.shutdown();
+
+        Assertions.assertFalse(Files.exists(leftover));
+        Assertions.assertFalse(Files.exists(partial));
+        Assertions.assertTrue(Files.exists(foreign));
+    }
+
+    private ReportJobStatus awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ReportJobStatus status = reportJobService.getStatus(jobId);
+            if (status.getState() == ReportJobService.State.DONE || status.getState() == ReportJobService.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Report job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,104 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.Session;
+import com.gestion.backend.entities.Specialty;
+import com.gestion.backend.repositories.SessionRepository;
+import com.gestion.backend.repositories.SpecialtyRepository;
+import com.gestion.backend.services.SessionService;
+import com.gestion.backend.services.SpecialtyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reference entities are served from the second-level cache and writes through the services are visible right away.
+ * Not transactional: cache entries are only written when a transaction commits.
+ */
+@SpringBootTest
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SpecialtyService specialtyService;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private Statistics statistics;
+    private Specialty specialty;
+    private Session session;
+    // Sessions already active (the seeded one), switched off so findByActiveTrue has a single answer
+    private List<Long> activeBefore;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        specialty = specialtyService.createSpecialty(Specialty.builder().name("Cache Specialty").build());
+        session = sessionService.createSession(Session.builder().title("Cache Session")
+                .startDate(LocalDate.now()).endDate(LocalDate.now().plusMonths(4)).active(false).build());
+        activeBefore = sessionRepository.findAll().stream().filter(Session::isActive).map(Session::getId).toList();
+        activeBefore.forEach(sessionService::toggleActive);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionService.deleteSession(session.getId());
+        specialtyRepository.deleteById(specialty.getId());
+        activeBefore.forEach(sessionService::toggleActive);
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        specialtyService.findById(specialty.getId());
+        specialtyService.findById(specialty.getId());
+
+        Assertions.assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listQueryIsCachedAndInvalidatedOnWrite() {
+        int before = specialtyService.getAllSpecialties().size();
+        specialtyService.getAllSpecialties();
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+
+        Specialty added = specialtyService.createSpecialty(Specialty.builder().name("Cache Specialty 2").build());
+        try {
+            Assertions.assertEquals(before + 1, specialtyService.getAllSpecialties().size());
+        } finally {
+            specialtyRepository.deleteById(added.getId());
+        }
+    }
+
+    @Test
+    void toggleIsVisibleThroughCachedQuery() {
+        Assertions.assertTrue(sessionRepository.findByActiveTrue().isEmpty());
+
+        sessionService.toggleActive(session.getId());
+        try {
+            Assertions.assertTrue(sessionRepository.findById(session.getId()).orElseThrow().isActive());
+            Assertions.assertEquals(session.getId(), sessionRepository.findByActiveTrue().orElseThrow().getId());
+        } finally {
+            sessionService.toggleActive(session.getId());
+        }
+        Assertions.assertTrue(sessionRepository.findByActiveTrue().isEmpty());
+    }
+}
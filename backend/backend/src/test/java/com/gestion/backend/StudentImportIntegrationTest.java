@@ -0,0 +1,119 @@
+package com.gestion.backend;
+
+import com.gestion.backend.dtos.ImportReport;
+import com.gestion.backend.entities.Specialty;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.StudentGroup;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.services.StudentImportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The file spans three chunks of 500 rows, so duplicates and lookups are checked across chunk boundaries.
+ */
+@SpringBootTest
+@Transactional
+public class StudentImportIntegrationTest {
+
+    private static final int ROWS = 1_203;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Specialty specialty = Specialty.builder().name("Import Specialty").build();
+        entityManager.persist(specialty);
+        entityManager.persist(StudentGroup.builder().name("Import Group").specialty(specialty).build());
+        studentRepository.save(Student.builder().matricule("IMP-EXIST").firstName("Already")
+                .lastName("There").email("imp.existing@test.com").build());
+        entityManager.flush();
+    }
+
+    @Test
+    void importsLargeFileInChunksAndReportsFailures() {
+        StringBuilder csv = new StringBuilder("matricule,firstname,lastname,email,group,registrationdate\n");
+        // Line n of the file holds student n - 2, the header is line 1
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("IMP-").append(i).append(",Imp,Student ").append(i).append(",imp").append(i)
+                    .append("@test.com,Import Group,2026-09-01\n");
+        }
+        csv.append("IMP-DUP-E,Dup,Email,imp3@test.com,,\n");
+        csv.append("IMP-900,Dup,Matricule,imp.dup.m@test.com,,\n");
+        csv.append("IMP-X1,Old,Email,imp.existing@test.com,,\n");
+        csv.append("IMP-EXIST,Old,Matricule,imp.x2@test.com,,\n");
+        csv.append(",Generated,Matricule,imp.generated@test.com,,\n");
+        csv.append("IMP-X3,No,Group,imp.x3@test.com,Nowhere,\n");
+        csv.append("IMP-X4,Bad,Date,imp.x4@test.com,,01/09/2026\n");
+        csv.append("IMP-X5,,Nameless,imp.x5@test.com,,\n");
+        // Differ from stored values only by case
+        csv.append("IMP-X6,Case,Email,IMP.Existing@Test.com,,\n");
+        csv.append("imp-exist,Case,Matricule,imp.x7@test.com,,\n");
+        // Passes every check but not the column size: only this row of its chunk fails
+        csv.append("IMP-X8,").append("L".repeat(300)).append(",Long,imp.x8@test.com,,\n");
+
+        ImportReport report = studentImportService.importCsv(stream(csv.toString()));
+
+        Assertions.assertEquals(ROWS + 11, report.getTotal());
+        Assertions.assertEquals(ROWS + 1, report.getSucceeded());
+        Assertions.assertEquals(10, report.getFailed());
+        // Only failures are listed, created rows are counted
+        Assertions.assertEquals(10, report.getRows().size());
+        Map<Integer, String> failures = failures(report);
+        int line = ROWS + 2;
+        Assertions.assertEquals("Duplicate email in file", failures.get(line));
+        Assertions.assertEquals("Duplicate matricule in file", failures.get(line + 1));
+        Assertions.assertEquals("Email already exists", failures.get(line + 2));
+        Assertions.assertEquals("Matricule already exists", failures.get(line + 3));
+        Assertions.assertEquals("Unknown group: Nowhere", failures.get(line + 5));
+        Assertions.assertEquals("Invalid registration date: 01/09/2026", failures.get(line + 6));
+        Assertions.assertEquals("First name and last name are required", failures.get(line + 7));
+        Assertions.assertEquals("Email already exists", failures.get(line + 8));
+        Assertions.assertEquals("Matricule already exists", failures.get(line + 9));
+        Assertions.assertTrue(failures.get(line + 10).startsWith("Insert failed: "), failures.get(line + 10));
+
+        Assertions.assertEquals(List.of("imp0@test.com", "imp1202@test.com", "imp500@test.com"),
+                studentRepository.findExistingEmails(List.of("imp0@test.com", "imp500@test.com",
+                        "imp1202@test.com", "imp.x3@test.com")).stream().sorted().toList());
+        entityManager.clear();
+        Student first = studentRepository.findByMatricule("IMP-0").orElseThrow();
+        Assertions.assertEquals("Import Group", first.getGroup().getName());
+        Student generated = studentRepository.findByEmail("imp.generated@test.com").orElseThrow();
+        Assertions.assertTrue(generated.getMatricule().matches("STU-\\d+-" + (line + 4)), generated.getMatricule());
+    }
+
+    @Test
+    void emptyFileImportsNothing() {
+        ImportReport report = studentImportService.importCsv(stream(""));
+
+        Assertions.assertEquals(0, report.getTotal());
+    }
+
+    private static Map<Integer, String> failures(ImportReport report) {
+        return report.getRows().stream()
+                .filter(r -> r.getStatus() == ImportReport.RowStatus.FAILED)
+                .collect(Collectors.toMap(ImportReport.RowResult::getLine, ImportReport.RowResult::getMessage));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A student reads their own stats only, staff read any student's.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class StudentStatsAccessIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Student own;
+    private Student other;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        own = studentRepository.save(Student.builder().matricule("ACCESS-1").firstName("Own")
+                .lastName("Stats").email("access.own@test.com").build());
+        other = studentRepository.save(Student.builder().matricule("ACCESS-2").firstName("Other")
+                .lastName("Stats").email("access.other@test.com").build());
+        studentToken = token("access.own@test.com", User.Role.STUDENT, own.getId());
+    }
+
+    @Test
+    void studentReadsOwnStats() throws Exception {
+        mockMvc.perform(get("/api/reports/student/{id}/stats", own.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentCannotReadAnotherStudentsStats() throws Exception {
+        mockMvc.perform(get("/api/reports/student/{id}/stats", other.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void staffReadAnyStudentsStats() throws Exception {
+        for (User.Role role : new User.Role[] { User.Role.ADMIN, User.Role.TRAINER }) {
+            mockMvc.perform(get("/api/reports/student/{id}/stats", other.getId())
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token("access." + role, role, null)))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private String token(String username, User.Role role, Long studentId) {
+        return jwtUtil.generateToken(userRepository.save(User.builder().username(username).password("x").role(role)
+                .studentId(studentId).build()));
+    }
+}
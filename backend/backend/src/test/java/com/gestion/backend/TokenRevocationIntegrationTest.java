@@ -0,0 +1,62 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.JwtUtil;
+import com.gestion.backend.security.TokenVersionRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A password change bumps users.token_version, after which tokens issued before it are no longer accepted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TokenRevocationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Test
+    void changingPasswordRevokesEarlierTokens() throws Exception {
+        User user = userRepository.save(User.builder().username("revocation-admin").password("x")
+                .role(User.Role.ADMIN).build());
+        String oldToken = jwtUtil.generateToken(user);
+
+        mockMvc.perform(get("/api/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/profile/change-password").param("newPassword", "n3w-Secret")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        Assertions.assertEquals(1, updated.getTokenVersion());
+        Assertions.assertFalse(tokenVersionRegistry.isCurrent(user.getId(), 0));
+        mockMvc.perform(get("/api/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(result -> Assertions.assertNotEquals(200, result.getResponse().getStatus()));
+
+        String newToken = jwtUtil.generateToken(updated);
+        mockMvc.perform(get("/api/profile").header(HttpHeaders.AUTHORIZATION, "Bearer " + newToken))
+                .andExpect(status().isOk());
+    }
+}
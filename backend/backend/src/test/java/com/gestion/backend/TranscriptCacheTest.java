@@ -0,0 +1,74 @@
+package com.gestion.backend;
+
+import com.gestion.backend.reports.TranscriptCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class TranscriptCacheTest {
+
+    @TempDir
+    Path diskDir;
+
+    @Test
+    void memoryTierIsBoundedByBytesAndVersioned() throws IOException {
+        TranscriptCache cache = new TranscriptCache(DataSize.ofBytes(250), DataSize.ofBytes(100), "",
+                DataSize.ofMegabytes(1));
+        put(cache, 1L, "1-0-a-1", 100);
+        put(cache, 2L, "2-0-b-1", 100);
+        Assertions.assertNotNull(cache.get(1L, "1-0-a-1"));
+        put(cache, 3L, "3-0-c-1", 100);
+
+        // Student 2 was the least recently used
+        Assertions.assertNull(cache.get(2L, "2-0-b-1"));
+        Assertions.assertNotNull(cache.get(1L, "1-0-a-1"));
+        Assertions.assertEquals(200, cache.getBytes());
+        // A newer grade version is a miss, and replaces the old entry
+        Assertions.assertNull(cache.get(1L, "1-1-a-1"));
+        put(cache, 1L, "1-1-a-1", 50);
+        Assertions.assertEquals(150, cache.getBytes());
+
+        // Over the entry limit: streamed through, not kept
+        put(cache, 4L, "4-0-d-1", 101);
+        Assertions.assertNull(cache.get(4L, "4-0-d-1"));
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void diskTierServesEvictedEntriesAndSurvivesRestart() throws IOException {
+        TranscriptCache cache = new TranscriptCache(DataSize.ofBytes(100), DataSize.ofBytes(100),
+                diskDir.toString(), DataSize.ofBytes(250));
+        byte[] first = put(cache, 1L, "1-0-a-1", 100);
+        put(cache, 2L, "2-0-b-1", 100);
+
+        Assertions.assertArrayEquals(first, cache.get(1L, "1-0-a-1"));
+        Assertions.assertEquals(1, cache.getDiskHits());
+
+        put(cache, 1L, "1-1-a-1", 100);
+        put(cache, 3L, "3-0-c-1", 100);
+        Assertions.assertTrue(cache.getDiskBytes() <= 250);
+
+        TranscriptCache restarted = new TranscriptCache(DataSize.ofBytes(100), DataSize.ofBytes(100),
+                diskDir.toString(), DataSize.ofBytes(250));
+        Assertions.assertEquals(cache.getDiskSize(), restarted.getDiskSize());
+        Assertions.assertNotNull(restarted.get(3L, "3-0-c-1"));
+        Assertions.assertNull(restarted.get(1L, "1-0-a-1"));
+    }
+
+    private static byte[] put(TranscriptCache cache, Long studentId, String tag, int size) throws IOException {
+        byte[] pdf = new byte[size];
+        pdf[0] = studentId.byteValue();
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        TranscriptCache.Capture capture = cache.capture(response);
+        capture.write(pdf, 0, size);
+        cache.put(studentId, tag, capture);
+        Assertions.assertEquals(size, response.size());
+        return pdf;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gestion.backend;
+
+import com.gestion.backend.exceptions.ReportGenerationException;
+import com.gestion.backend.reports.TranscriptPdfRenderer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+public class TranscriptPdfRendererTest {
+
+    private final TranscriptPdfRenderer renderer = new TranscriptPdfRenderer();
+
+    @Test
+    void rendersLargeTranscriptAndCountsBytes() {
+        Iterator<TranscriptPdfRenderer.Line> lines = IntStream.range(0, 5_000)
+                .mapToObj(i -> new TranscriptPdfRenderer.Line("Cours " + i, i % 21))
+                .iterator();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.render("Relevé de Notes - Test", "STU-1", lines, 10.0, out);
+
+        Assertions.assertTrue(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF-"));
+        Assertions.assertEquals(out.size(), renderer.getBytesWritten());
+        Assertions.assertEquals(1, renderer.getRendered());
+    }
+
+    @Test
+    void writeFailureIsReported() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+        Iterator<TranscriptPdfRenderer.Line> lines = IntStream.range(0, 500)
+                .mapToObj(i -> new TranscriptPdfRenderer.Line("Cours " + i, 12))
+                .iterator();
+
+        Assertions.assertThrows(ReportGenerationException.class,
+                () -> renderer.render("Relevé", "STU-2", lines, 12.0, broken));
+        Assertions.assertEquals(1, renderer.getFailed());
+    }
+}
@@ -0,0 +1,94 @@
+package com.gestion.backend;
+
+import com.gestion.backend.reports.TranscriptJob;
+import com.gestion.backend.reports.TranscriptPdfRenderer;
+import com.gestion.backend.reports.TranscriptZipWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Renders the same cohort with 1, 2, 4... threads up to the core count and logs the throughput of each run.
+ * Every archive must hold one PDF per student and, on a multi-core machine, the best run must beat one thread.
+ */
+@Tag("benchmark")
+@Slf4j
+public class TranscriptZipBenchmarkTest {
+
+    private static final int STUDENTS = 400;
+    private static final int COURSES = 30;
+
+    private final TranscriptPdfRenderer renderer = new TranscriptPdfRenderer();
+
+    @Test
+    void throughputScalesWithThreads() throws Exception {
+        // Warm-up so the first measured run does not pay for class loading and font parsing
+        zip(1, 20);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        double single = 0;
+        double best = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            long start = System.nanoTime();
+            byte[] archive = zip(threads, STUDENTS);
+            double perSecond = STUDENTS * 1e9 / (System.nanoTime() - start);
+            if (threads == 1) {
+                single = perSecond;
+            }
+            best = Math.max(best, perSecond);
+            log.info("{} thread(s): {} transcripts/s (x{}), archive {} KB", threads, Math.round(perSecond),
+                    String.format("%.2f", perSecond / single), archive.length / 1024);
+            Assertions.assertEquals(STUDENTS, entries(archive).size());
+        }
+        if (cores > 1) {
+            // Rendering is CPU bound, two cores should give well over a third more than one
+            Assertions.assertTrue(best > single * 1.3,
+                    String.format("No speedup with %d cores: %.0f vs %.0f transcripts/s", cores, best, single));
+        }
+    }
+
+    private byte[] zip(int threads, int students) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int written = new TranscriptZipWriter(renderer, executor, threads * 2).write(jobs(students), out);
+            Assertions.assertEquals(students, written);
+            return out.toByteArray();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Iterator<TranscriptJob> jobs(int students) {
+        return IntStream.range(0, students).mapToObj(i -> {
+            List<TranscriptPdfRenderer.Line> lines = IntStream.range(0, COURSES)
+                    .mapToObj(c -> new TranscriptPdfRenderer.Line("Cours " + c, (i + c) % 21))
+                    .toList();
+            return new TranscriptJob("STU-" + i + ".pdf", "Relevé de Notes - Etudiant " + i, "STU-" + i, lines, 10.0);
+        }).iterator();
+    }
+
+    private static Set<String> entries(byte[] archive) throws IOException {
+        Set<String> names = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,116 @@
+package com.gestion.backend;
+
+import com.gestion.backend.search.SearchDocument;
+import com.gestion.backend.search.SearchHit;
+import com.gestion.backend.search.SearchType;
+import com.gestion.backend.search.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void foldsAccentsAndCase() {
+        index.put(student(1L, "Hélène", "Dupré"));
+
+        Assertions.assertEquals(List.of(1L), ids(index.search("helene dupre", null, 10)));
+        Assertions.assertEquals(List.of(1L), ids(index.search("HÉLÈNE", null, 10)));
+        // One letter swapped still shares most trigrams
+        Assertions.assertEquals(List.of(1L), ids(index.search("Dupre Heleen", null, 10)));
+    }
+
+    @Test
+    void ranksExactMatchesFirstAndFiltersByType() {
+        index.put(student(1L, "Bernardo", "Marti"));
+        index.put(student(2L, "Bernard", "Martin"));
+        index.put(new SearchDocument(SearchType.TRAINER, 2L, "Martin Durand", null, "Martin Durand"));
+        index.put(new SearchDocument(SearchType.COURSE, 3L, "Chimie", "CHM-1", "Chimie CHM-1"));
+
+        List<SearchHit> hits = index.search("bernard martin", SearchType.STUDENT, 10);
+
+        Assertions.assertEquals(List.of(2L, 1L), ids(hits));
+        Assertions.assertTrue(hits.get(0).score() > hits.get(1).score());
+        Assertions.assertEquals(List.of(SearchType.TRAINER), index.search("martin durand", SearchType.TRAINER, 10)
+                .stream().map(SearchHit::type).toList());
+        Assertions.assertEquals(1, index.search("martin", null, 1).size());
+        Assertions.assertTrue(index.search("zzz qqq", null, 10).isEmpty());
+        Assertions.assertTrue(index.search("  ", null, 10).isEmpty());
+    }
+
+    @Test
+    void updateAndRemoveUnlinkPostings() {
+        TrigramIndex fresh = new TrigramIndex();
+        fresh.put(student(1L, "Bob", "Jones"));
+
+        index.put(student(1L, "Alice", "Smith"));
+        index.put(student(1L, "Bob", "Jones"));
+
+        Assertions.assertTrue(index.search("alice smith", null, 10).isEmpty());
+        Assertions.assertEquals(List.of(1L), ids(index.search("bob jones", null, 10)));
+        Assertions.assertEquals(1, index.size());
+        // No posting list left behind for the old text
+        Assertions.assertEquals(fresh.trigramCount(), index.trigramCount());
+
+        // Same id, other type: a separate document
+        index.put(new SearchDocument(SearchType.COURSE, 1L, "Bob Jones", null, "Bob Jones"));
+        index.remove(SearchType.STUDENT, 1L);
+        Assertions.assertEquals(List.of(SearchType.COURSE), index.search("bob jones", null, 10)
+                .stream().map(SearchHit::type).toList());
+        index.remove(SearchType.COURSE, 1L);
+        index.remove(SearchType.COURSE, 99L);
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertEquals(0, index.trigramCount());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void lookupsOverHundredThousandDocuments() {
+        String[] first = { "Amine", "Sara", "Youssef", "Fatima", "Omar", "Khadija", "Mehdi", "Salma", "Hamza", "Imane" };
+        Random random = new Random(42);
+        int documents = 100_000;
+        for (long id = 0; id < documents; id++) {
+            String lastName = randomWord(random);
+            index.put(student(id, first[(int) (id % first.length)], lastName));
+        }
+        String target = "Youssef Zarkaoui";
+        index.put(student((long) documents, "Youssef", "Zarkaoui"));
+
+        int lookups = 1_000;
+        long start = System.nanoTime();
+        List<SearchHit> hits = null;
+        for (int i = 0; i < lookups; i++) {
+            hits = index.search(i % 2 == 0 ? "zarkaoui" : "youssef zarkoui", null, 20);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / lookups;
+
+        log.info("{} documents, {} trigrams: {} ms per lookup", index.size(), index.trigramCount(),
+                String.format("%.2f", millis));
+        Assertions.assertEquals(target, hits.get(0).label());
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 5 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    private static SearchDocument student(Long id, String firstName, String lastName) {
+        String name = firstName + " " + lastName;
+        return new SearchDocument(SearchType.STUDENT, id, name, "STU-" + id, name + " STU-" + id);
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
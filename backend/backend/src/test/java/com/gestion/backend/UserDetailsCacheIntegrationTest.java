@@ -0,0 +1,127 @@
+package com.gestion.backend;
+
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.security.CachingUserDetailsService;
+import com.gestion.backend.security.JwtUtil;
+import com.gestion.backend.services.IdentityLinkService;
+import com.gestion.backend.services.UserProvisioningService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every path writing a user evicts its cached details, so the next login sees the new row and not a
+ * stale entry (or a cached "not found") for the rest of the TTL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class UserDetailsCacheIntegrationTest {
+
+    @Autowired
+    private CachingUserDetailsService userDetailsCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private IdentityLinkService identityLinkService;
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void registerDropsNegativeEntry() throws Exception {
+        assertUnknown("cache.register");
+
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"cache.register\",\"password\":\"secret\",\"firstName\":\"Reg\","
+                                + "\"lastName\":\"Ister\",\"email\":\"cache.register@test.com\",\"role\":\"STUDENT\"}"))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals("cache.register", userDetailsCache.loadUserByUsername("cache.register").getUsername());
+    }
+
+    @Test
+    void changePasswordDropsCachedPassword() throws Exception {
+        User user = userRepository.save(User.builder().username("cache.password").password("old-hash")
+                .role(User.Role.ADMIN).build());
+        Assertions.assertEquals("old-hash", userDetailsCache.loadUserByUsername("cache.password").getPassword());
+
+        mockMvc.perform(post("/api/profile/change-password").param("newPassword", "n3w-Secret")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user)))
+                .andExpect(status().isOk());
+
+        Assertions.assertNotEquals("old-hash", userDetailsCache.loadUserByUsername("cache.password").getPassword());
+    }
+
+    @Test
+    void identityLinkDropsUnlinkedEntry() {
+        Student student = studentRepository.save(Student.builder().matricule("CACHE-1").firstName("Cache")
+                .lastName("Link").email("cache.link@test.com").build());
+        // Unlinked accounts predate the checks on User, see IdentityLinkIntegrationTest
+        jdbcTemplate.update("INSERT INTO users (username, password, role, token_version) VALUES (?, 'x', 'STUDENT', 0)",
+                "cache.link@test.com");
+        entityManager.flush();
+        entityManager.clear();
+        UserDetails before = userDetailsCache.loadUserByUsername("cache.link@test.com");
+        Assertions.assertNull(((User) before).getStudentId());
+
+        identityLinkService.linkOnLogin(userRepository.findByUsername("cache.link@test.com").orElseThrow());
+
+        User after = (User) userDetailsCache.loadUserByUsername("cache.link@test.com");
+        Assertions.assertEquals(student.getId(), after.getStudentId());
+    }
+
+    @Test
+    void provisioningDropsNegativeEntry() {
+        assertUnknown("cache.prov");
+
+        userProvisioningService.provisionCsv(new ByteArrayInputStream("""
+                username,password,firstName,lastName,email,role
+                cache.prov,secret,Pro,Vision,cache.prov@test.com,TRAINER
+                """.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals("cache.prov", userDetailsCache.loadUserByUsername("cache.prov").getUsername());
+    }
+
+    private void assertUnknown(String username) {
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.loadUserByUsername(username));
+        // Now held as a negative entry
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.loadUserByUsername(username));
+    }
+}
@@ -0,0 +1,127 @@
+package com.gestion.backend;
+
+import com.gestion.backend.dtos.ImportReport;
+import com.gestion.backend.entities.Student;
+import com.gestion.backend.entities.User;
+import com.gestion.backend.exceptions.BadRequestException;
+import com.gestion.backend.repositories.StudentRepository;
+import com.gestion.backend.repositories.TrainerRepository;
+import com.gestion.backend.repositories.UserRepository;
+import com.gestion.backend.services.UserProvisioningService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+@Transactional
+public class UserProvisioningIntegrationTest {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    private Student unlinked;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder().username("prov.existing").password("x").role(User.Role.ADMIN).build());
+        Student linked = studentRepository.save(Student.builder().matricule("PROV-1").firstName("Linked")
+                .lastName("Student").email("prov.linked@test.com").build());
+        userRepository.save(User.builder().username("prov.linked").password("x").role(User.Role.STUDENT)
+                .studentId(linked.getId()).build());
+        unlinked = studentRepository.save(Student.builder().matricule("PROV-2").firstName("Unlinked")
+                .lastName("Student").email("prov.unlinked@test.com").build());
+    }
+
+    @Test
+    void csvReportsEveryRow() {
+        String csv = """
+                username,password,firstName,lastName,email,role
+                prov.s1,secret,Ann,Alpha,Prov.S1@Test.com,student
+                prov.t1,secret,Tom,Tango,prov.t1@test.com,TRAINER
+                prov.s1,secret,Ann,Again,prov.other@test.com,STUDENT
+                prov.s2,secret,Bob,Bravo,prov.s1@test.com,STUDENT
+                prov.x,,Xavier,Xray,prov.x@test.com,STUDENT
+                prov.y,secret,Yan,Yankee,prov.y@test.com,JANITOR
+                prov.existing,secret,Eve,Echo,prov.e@test.com,STUDENT
+                prov.s3,secret,Lin,Lima,prov.linked@test.com,STUDENT
+                prov.s4,secret,Una,Uniform,PROV.UNLINKED@test.com,STUDENT
+                Prov.Existing,secret,Eve,Echo,prov.e2@test.com,STUDENT
+                PROV.T1,secret,Tom,Again,prov.t2@test.com,TRAINER
+                """;
+
+        ImportReport report = userProvisioningService.provisionCsv(stream(csv));
+
+        Assertions.assertEquals(11, report.getTotal());
+        Assertions.assertEquals(3, report.getSucceeded());
+        Assertions.assertEquals(8, report.getFailed());
+        Map<Integer, String> failures = failures(report);
+        Assertions.assertEquals("Duplicate username in file", failures.get(4));
+        Assertions.assertEquals("Duplicate email in file", failures.get(5));
+        Assertions.assertEquals("Username and password are required", failures.get(6));
+        Assertions.assertTrue(failures.get(7).startsWith("Invalid role"));
+        Assertions.assertEquals("Username already exists", failures.get(8));
+        Assertions.assertEquals("An account already exists for this student", failures.get(9));
+        // Usernames are unique whatever their case
+        Assertions.assertEquals("Username already exists", failures.get(11));
+        Assertions.assertEquals("Duplicate username in file", failures.get(12));
+
+        User student = userRepository.findByUsername("prov.s1").orElseThrow();
+        Assertions.assertEquals("prov.s1@test.com", studentRepository.findById(student.getStudentId()).orElseThrow().getEmail());
+        User trainer = userRepository.findByUsername("prov.t1").orElseThrow();
+        Assertions.assertTrue(trainerRepository.findById(trainer.getTrainerId()).isPresent());
+        // Existing student matched whatever the case of the email in the file
+        Assertions.assertEquals(unlinked.getId(), userRepository.findByUsername("prov.s4").orElseThrow().getStudentId());
+    }
+
+    @Test
+    void ndjsonReportsDuplicates() {
+        String ndjson = """
+                {"username":"prov.n1","password":"secret","firstName":"Nia","lastName":"November","email":"prov.n1@test.com","role":"STUDENT"}
+                {"username":"prov.n1","password":"secret","firstName":"Nia","lastName":"Again","email":"prov.n2@test.com","role":"STUDENT"}
+                {"username":"prov.n3","password":"secret","firstName":"Ned","lastName":"Oscar","email":"PROV.N1@test.com","role":"TRAINER"}
+                """;
+
+        ImportReport report = userProvisioningService.provisionNdjson(stream(ndjson));
+
+        Assertions.assertEquals(3, report.getTotal());
+        Assertions.assertEquals(1, report.getSucceeded());
+        Assertions.assertEquals("Duplicate username in file", failures(report).get(2));
+        Assertions.assertEquals("Duplicate email in file", failures(report).get(3));
+        Assertions.assertTrue(userRepository.findByUsername("prov.n1").isPresent());
+    }
+
+    @Test
+    void malformedInputIsBadRequest() {
+        Assertions.assertThrows(BadRequestException.class,
+                () -> userProvisioningService.provisionNdjson(stream("{\"username\":\"prov.m1\",")));
+        Assertions.assertThrows(BadRequestException.class,
+                () -> userProvisioningService.provisionCsv(stream("username,password\n\"prov.m2,secret\n")));
+    }
+
+    private static Map<Integer, String> failures(ImportReport report) {
+        return report.getRows().stream()
+                .filter(r -> r.getStatus() == ImportReport.RowStatus.FAILED)
+                .collect(Collectors.toMap(ImportReport.RowResult::getLine, ImportReport.RowResult::getMessage));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
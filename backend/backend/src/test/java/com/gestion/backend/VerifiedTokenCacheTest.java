@@ -0,0 +1,79 @@
+package com.gestion.backend;
+
+import com.gestion.backend.security.JwtClaims;
+import com.gestion.backend.security.VerifiedTokenCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class VerifiedTokenCacheTest {
+
+    @Test
+    void secondLookupIsAHit() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        JwtClaims claims = claims("alice", Duration.ofHours(1));
+
+        Assertions.assertNull(cache.get("token-a"));
+        cache.put("token-a", claims);
+
+        Assertions.assertSame(claims, cache.get("token-a"));
+        Assertions.assertSame(claims, cache.get("token-a"));
+        Assertions.assertNull(cache.get("token-b"));
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void expiredTokenIsNeverServed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token-a", claims("alice", Duration.ofSeconds(-1)));
+
+        Assertions.assertNull(cache.get("token-a"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("expired", claims("old", Duration.ofSeconds(-1)));
+        for (int i = 0; i < 9; i++) {
+            cache.put("token-" + i, claims("user" + i, Duration.ofHours(1)));
+        }
+
+        cache.put("token-9", claims("user9", Duration.ofHours(1)));
+
+        Assertions.assertEquals(10, cache.size());
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertNotNull(cache.get("token-" + i), "token-" + i);
+        }
+    }
+
+    @Test
+    void sizeStaysBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, claims("user" + i, Duration.ofHours(1)));
+            Assertions.assertTrue(cache.size() <= 100, "Cache grew to " + cache.size());
+        }
+        Assertions.assertTrue(cache.getEvictions() >= 900);
+        // The latest token always makes it in
+        Assertions.assertNotNull(cache.get("token-999"));
+    }
+
+    @Test
+    void zeroSizeDisablesTheCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+        cache.put("token-a", claims("alice", Duration.ofHours(1)));
+
+        Assertions.assertNull(cache.get("token-a"));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    private static JwtClaims claims(String username, Duration validFor) {
+        Instant now = Instant.now();
+        return new JwtClaims(username, now, now.plus(validFor), 1L, "ADMIN", null, null, 0);
+    }
+}